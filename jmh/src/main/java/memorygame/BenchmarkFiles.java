@@ -0,0 +1,36 @@
+package memorygame;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/** Scratch files for the benchmarks. */
+final class BenchmarkFiles {
+
+    private BenchmarkFiles() {
+    }
+
+    /** Writes {@code rows} random scores in the old {@code leaderboard.txt} format. */
+    static void writeLegacyLeaderboard(Path file, int rows) throws IOException {
+        Random r = new Random(rows);
+        StringBuilder sb = new StringBuilder(rows * 40);
+        for (int i = 0; i < rows; i++) {
+            sb.append("player").append(i).append('|').append(r.nextInt(10_000)).append('|')
+              .append(1 + r.nextInt(5)).append('|').append(r.nextInt(25)).append('|')
+              .append(r.nextInt(12)).append('|').append(r.nextInt(120)).append("|2025-01-01")
+              .append(System.lineSeparator());
+        }
+        Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void deleteTree(Path dir) throws IOException {
+        if (dir == null) return;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package memorygame;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Putting a dealt board on screen with each renderer: the pooled
+ * {@link ButtonBoard} the game uses up to {@code MAX_BUTTON_CARDS} cards,
+ * and a full paint of the {@link BoardCanvas} it falls back to for bigger
+ * boards. Runs headless, so faces are text; constructing, laying out and
+ * painting Swing components needs no display.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BoardBenchmark {
+
+    private static final int WIDTH = 880;
+    private static final int HEIGHT = 600;
+
+    private Path imageDir;
+    private MemoryEngine engine;
+    private CardCatalog catalog;
+    private CardImageService images;
+    private ButtonBoard buttons;
+    private BoardCanvas canvas;
+    private AnimationScheduler animations;
+    private Graphics2D frame;
+    private int level;
+
+    @Setup
+    public void setup() throws IOException {
+        imageDir = Files.createTempDirectory("memorygame-bench");
+        catalog = new BuiltInCatalog(imageDir);
+        engine = new MemoryEngine(catalog.rules(), new GameClock());
+        engine.newGame(7);
+        images = new CardImageService(catalog::openImage);
+        animations = new AnimationScheduler();
+
+        buttons = new ButtonBoard(engine, images, catalog, 100);
+        buttons.setSize(WIDTH, HEIGHT);
+        buttons.ensurePool(MemoryEngine.PAIRS_BY_LEVEL[4] * 2);
+
+        // The canvas shows a finished level, so every card paints its face.
+        canvas = new BoardCanvas(engine, images, catalog, 100, animations);
+        canvas.setSize(WIDTH, HEIGHT);
+        engine.startLevel(5);
+        solve();
+        canvas.bind(catalog.level(5));
+        frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB).createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        frame.dispose();
+        images.shutdown();
+        BenchmarkFiles.deleteTree(imageDir);
+    }
+
+    /** Restarting a level: a new deal rebound onto the buttons already on the board. */
+    @Benchmark
+    public int restartRebind() {
+        engine.startLevel(5);
+        buttons.bind(catalog.level(5));
+        return buttons.getComponentCount();
+    }
+
+    /** Moving between levels 4 and 5, so every bind also reshapes and lays out the grid. */
+    @Benchmark
+    public int levelChangeRebind() {
+        level = level == 5 ? 4 : 5;
+        engine.startLevel(level);
+        if (buttons.bind(catalog.level(level))) buttons.validate();
+        return buttons.getComponentCount();
+    }
+
+    /** One full frame of the canvas with all faces showing. */
+    @Benchmark
+    public Graphics2D canvasRender() {
+        canvas.paint(frame);
+        return frame;
+    }
+
+    private void solve() {
+        int[] firstOf = new int[engine.pairs()];
+        Arrays.fill(firstOf, -1);
+        for (int c = 0; c < engine.cardCount(); c++) {
+            int id = engine.cardId(c);
+            if (firstOf[id] < 0) {
+                firstOf[id] = c;
+            } else {
+                engine.flip(firstOf[id]);
+                engine.flip(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package memorygame;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dealing and playing a board in {@link MemoryEngine}, at the size of the
+ * last built-in level.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+
+    private static final int LEVEL = 5;
+    private static final int PAIRS = MemoryEngine.PAIRS_BY_LEVEL[LEVEL - 1];
+
+    private MemoryEngine engine;
+    private final int[] dealt = new int[PAIRS * 2];
+    private final int[] firstOf = new int[PAIRS];
+    private int restarts;
+
+    @Setup
+    public void setup() {
+        engine = new MemoryEngine();
+        engine.newGame(42);
+    }
+
+    /** Shuffle and deal of a fresh level. */
+    @Benchmark
+    public int startLevel() {
+        engine.startLevel(LEVEL);
+        return engine.cardId(0);
+    }
+
+    /** Deal alone, with a new board seed each time. */
+    @Benchmark
+    public int[] deal() {
+        BoardGenerator.deal(BoardGenerator.dealSeed(42, LEVEL, restarts++), PAIRS, dealt);
+        return dealt;
+    }
+
+    /** A fresh level played to the end without a mismatch. */
+    @Benchmark
+    public int flipMatchLevel() {
+        engine.startLevel(LEVEL);
+        int n = engine.cardCount();
+        Arrays.fill(firstOf, -1);
+        int result = 0;
+        for (int c = 0; c < n; c++) {
+            int id = engine.cardId(c);
+            if (firstOf[id] < 0) {
+                firstOf[id] = c;
+            } else {
+                engine.flip(firstOf[id]);
+                result += engine.flip(c);
+            }
+        }
+        return result;
+    }
+}
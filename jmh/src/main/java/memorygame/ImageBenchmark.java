@@ -0,0 +1,98 @@
+package memorygame;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding and scaling a card face, and the {@link MemoryCache} in front of
+ * the scaled variants.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ImageBenchmark {
+
+    private static final int CACHE_KEYS = 400;
+    private static final int CACHE_IMAGES = 200;
+
+    /** Cache hits and misses, reported next to the timings. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CacheCounters {
+        public long hits;
+        public long misses;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    private File jpg;
+    private BufferedImage src;
+    private BufferedImage face;
+    private MemoryCache<Integer, BufferedImage> cache;
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    @Setup
+    public void setup() throws IOException {
+        src = new BufferedImage(600, 600, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = src.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.GREEN, 600, 600, Color.WHITE));
+        g.fillRect(0, 0, 600, 600);
+        g.dispose();
+        jpg = Files.createTempFile("memorygame-bench", ".jpg").toFile();
+        ImageIO.write(src, "jpg", jpg);
+        face = CardImageService.scale(src, 100, 100);
+        cache = new MemoryCache<>("bench", CACHE_IMAGES * CardImageService.bytes(face), CardImageService::bytes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jpg.delete();
+    }
+
+    /** ImageIO decode of a 600px JPG. */
+    @Benchmark
+    public BufferedImage decode() throws IOException {
+        return ImageIO.read(jpg);
+    }
+
+    /** Scaling to 100px the way the game did before {@link CardImageService}. */
+    @Benchmark
+    public Image scaleLegacy() {
+        return new ImageIcon(src.getScaledInstance(100, 100, Image.SCALE_SMOOTH)).getImage();
+    }
+
+    @Benchmark
+    public BufferedImage scale() {
+        return CardImageService.scale(src, 100, 100);
+    }
+
+    /** Get, and put on a miss, over more keys than the budget holds strongly. */
+    @Benchmark
+    public BufferedImage cacheGetPut(CacheCounters counters) {
+        int key = random.nextInt(CACHE_KEYS);
+        BufferedImage img = cache.get(key);
+        if (img != null) {
+            counters.hits++;
+        } else {
+            counters.misses++;
+            cache.put(key, face);
+        }
+        return img;
+    }
+}
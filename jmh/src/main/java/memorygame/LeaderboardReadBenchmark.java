@@ -0,0 +1,135 @@
+package memorygame;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a leaderboard of {@code rows} games: the old parse-and-sort of the
+ * text file against the {@link LeaderboardStore} queries, the
+ * {@link LiveLeaderboard} and the dialog's paged table model.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardReadBenchmark {
+
+    private static final int VISIBLE_ROWS = 40;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private Path dir;
+    private Path text;
+    private LeaderboardStore store;
+    private LiveLeaderboard live;
+    private MemoryCache<Long, List<LeaderboardRecord>> pages;
+    private final SplittableRandom random = new SplittableRandom(1);
+
+    /** A copy of the text file and an empty store, fresh for each migration. */
+    @State(Scope.Thread)
+    public static class Migration {
+        Path dir;
+        Path text;
+        LeaderboardStore store;
+
+        @Setup(Level.Invocation)
+        public void setup(LeaderboardReadBenchmark b) throws IOException {
+            dir = Files.createTempDirectory(b.dir, "migrate");
+            text = Files.copy(b.text, dir.resolve("leaderboard.txt"));
+            store = LeaderboardStore.open(dir.resolve("lb.dat"), dir.resolve("lb.idx"));
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() throws IOException {
+            store.close();
+            BenchmarkFiles.deleteTree(dir);
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("memorygame-bench");
+        text = dir.resolve("leaderboard.txt");
+        BenchmarkFiles.writeLegacyLeaderboard(text, rows);
+        Path copy = Files.copy(text, dir.resolve("migrate.txt"));
+        store = LeaderboardStore.open(dir.resolve("lb.dat"), dir.resolve("lb.idx"));
+        store.migrateTextFile(copy);
+        live = LiveLeaderboard.load(store, false, 100);
+        pages = LeaderboardTableModel.newPageCache(1 << 20);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        BenchmarkFiles.deleteTree(dir);
+    }
+
+    /** What the dialog did before the store: read every line, then sort. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int legacyParseSort() throws IOException {
+        List<String[]> parsed = new ArrayList<>();
+        try (BufferedReader br = Files.newBufferedReader(text)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] parts = line.split("\\|");
+                if (parts.length == 7) parsed.add(parts);
+            }
+        }
+        parsed.sort((a, c) -> Integer.compare(Integer.parseInt(c[1]), Integer.parseInt(a[1])));
+        return parsed.size();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int migrate(Migration m) throws IOException {
+        return m.store.migrateTextFile(m.text);
+    }
+
+    @Benchmark
+    public List<LeaderboardRecord> storeTop() throws IOException {
+        return store.top(false, 100);
+    }
+
+    @Benchmark
+    public int storeRankOf() throws IOException {
+        return store.rankOf(false, random.nextInt(10_000));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public LiveLeaderboard liveLoad() throws IOException {
+        return LiveLeaderboard.load(store, false, 100);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int liveRankOf() {
+        return live.rankOf(random.nextInt(10_000));
+    }
+
+    /** Opening the dialog's model at a random row and reading one screen of names. */
+    @Benchmark
+    public int tableModelScroll() throws IOException {
+        LeaderboardTableModel model = new LeaderboardTableModel(store, false, pages);
+        int start = random.nextInt(Math.max(1, rows - VISIBLE_ROWS));
+        int result = 0;
+        for (int row = start; row < start + VISIBLE_ROWS && row < rows; row++) {
+            result += model.getValueAt(row, 1).hashCode();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+package memorygame;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving finished games: the old append to the text file per score against
+ * the group-committed {@link LeaderboardLog}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardWriteBenchmark {
+
+    private static final int BATCH = 1000;
+
+    private Path dir;
+    private Path text;
+    private LeaderboardStore store;
+    private LeaderboardLog log;
+    private int game;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("memorygame-bench");
+        text = dir.resolve("leaderboard.txt");
+        store = LeaderboardStore.open(dir.resolve("w.dat"), dir.resolve("w.idx"));
+        log = LeaderboardLog.open(dir.resolve("w.log"), store);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        log.close();
+        store.close();
+        BenchmarkFiles.deleteTree(dir);
+    }
+
+    @Benchmark
+    public void legacyAppend() throws IOException {
+        int i = game++;
+        String entry = "player" + i + "|" + (i * 7 % 5000) + "|3|2|8|45|2025-01-01" + System.lineSeparator();
+        Files.write(text, entry.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /** A batch of scores queued back to back, timed until the last one is durable. */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void logAppend() {
+        for (int n = 0; n < BATCH; n++) {
+            int i = game++;
+            log.append(new LeaderboardRecord("player" + i, i * 7 % 5000, 3, 2, 8, 45, 20000));
+        }
+        log.flush();
+    }
+}
@@ -0,0 +1,117 @@
+package memorygame;
+
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drives every board animation and delayed UI action from one Swing timer.
+ * The timer ticks at a fixed rate only while something is scheduled, task
+ * objects are recycled, and all work runs on the EDT, so card flips, fades,
+ * popups and flip-back delays never allocate their own timers or windows.
+ */
+final class AnimationScheduler {
+
+    /** Receives the eased progress of a tween, from 0 to 1. */
+    interface Tween {
+        void update(float progress);
+    }
+
+    static final int TICK_MS = 16;
+
+    private static final class Task {
+        long startNanos;
+        long durationNanos;
+        Tween tween;
+        Runnable onEnd;
+        boolean recycled;
+    }
+
+    private final Timer timer = new Timer(TICK_MS, e -> tick());
+    private final List<Task> active = new ArrayList<>();
+    private final List<Task> free = new ArrayList<>();
+
+    AnimationScheduler() {
+        timer.setCoalesce(true);
+    }
+
+    /** Runs {@code tween} over {@code durationMs}, then {@code onEnd} (may be null). */
+    void animate(int durationMs, Tween tween, Runnable onEnd) {
+        Task t = free.isEmpty() ? new Task() : free.remove(free.size() - 1);
+        t.recycled = false;
+        t.startNanos = System.nanoTime();
+        t.durationNanos = Math.max(1, durationMs) * 1_000_000L;
+        t.tween = tween;
+        t.onEnd = onEnd;
+        active.add(t);
+        if (!timer.isRunning()) timer.start();
+        if (tween != null) tween.update(0f);
+    }
+
+    /** Runs {@code action} once after {@code delayMs}. */
+    void schedule(int delayMs, Runnable action) {
+        animate(delayMs, null, action);
+    }
+
+    /** Drops every pending animation and action without running them. */
+    void cancelAll() {
+        for (Task t : active) recycle(t);
+        active.clear();
+        timer.stop();
+    }
+
+    /** Jumps every animation to its end state and runs pending actions now. */
+    void finishAll() {
+        List<Task> done = new ArrayList<>(active);
+        active.clear();
+        timer.stop();
+        complete(done);
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        List<Task> done = null;
+        for (int i = active.size() - 1; i >= 0; i--) {
+            Task t = active.get(i);
+            float p = (float) (now - t.startNanos) / t.durationNanos;
+            if (p >= 1f) {
+                active.remove(i);
+                if (done == null) done = new ArrayList<>();
+                done.add(t);
+            } else if (t.tween != null) {
+                t.tween.update(ease(p));
+            }
+        }
+        if (active.isEmpty()) timer.stop();
+        if (done != null) complete(done);
+    }
+
+    /**
+     * Ends the tasks in {@code done}, a list owned by the caller: an onEnd may
+     * re-enter the scheduler (a modal dialog pumps timer ticks, or it calls
+     * finishAll), and each nested call completes its own tasks.
+     */
+    private void complete(List<Task> done) {
+        for (Task t : done) {
+            if (t.recycled) continue;
+            Tween tween = t.tween;
+            Runnable onEnd = t.onEnd;
+            recycle(t);
+            if (tween != null) tween.update(1f);
+            if (onEnd != null) onEnd.run();
+        }
+    }
+
+    /** Returns a task to the free list once; a second call is a no-op. */
+    private void recycle(Task t) {
+        if (t.recycled) return;
+        t.recycled = true;
+        t.tween = null;
+        t.onEnd = null;
+        free.add(t);
+    }
+
+    private static float ease(float p) {
+        return p * p * (3f - 2f * p);
+    }
+}
@@ -0,0 +1,144 @@
+package memorygame;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Loads remote assets (the welcome logo and intro music) without touching
+ * the network on the EDT. Each asset is resolved from memory, then a bundled
+ * classpath resource, then the on-disk cache, and only then downloaded in
+ * the background; a successful download is written to the disk cache so
+ * offline kiosks only need to reach the network once. A load that yields
+ * nothing is not remembered, so a kiosk that booted before the network came
+ * up gets the assets on a later request.
+ */
+final class AssetCache {
+
+    private static final int CONNECT_TIMEOUT_MS = 3000;
+    private static final int READ_TIMEOUT_MS = 5000;
+
+    private final Path cacheDir;
+    private final ConcurrentHashMap<String, CompletableFuture<byte[]>> bytes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "asset-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    AssetCache(Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Returns the raw bytes of an asset. {@code resource} is the bundled
+     * classpath path (may be {@code null}); {@code url} is the remote source.
+     * The future completes with {@code null} if nothing could be loaded.
+     */
+    CompletableFuture<byte[]> fetch(String resource, String url) {
+        return cached(bytes, url, () -> CompletableFuture.supplyAsync(() -> load(resource, url), executor));
+    }
+
+    /** Returns the asset decoded as an image and scaled to {@code size} pixels square. */
+    CompletableFuture<BufferedImage> image(String resource, String url, int size) {
+        return cached(images, size + ":" + url, () -> fetch(resource, url).thenApplyAsync(data -> {
+            if (data == null) return null;
+            try {
+                BufferedImage img = ImageIO.read(new ByteArrayInputStream(data));
+                return img == null ? null : CardImageService.scale(img, size, size);
+            } catch (IOException ex) {
+                System.out.println("Asset decode failed: " + ex.getMessage());
+                return null;
+            }
+        }, executor));
+    }
+
+    /**
+     * Returns the future stored under {@code key}, starting {@code loader}
+     * if there is none. The entry is dropped again if the load completes
+     * with {@code null}, before the returned future completes.
+     */
+    private static <T> CompletableFuture<T> cached(ConcurrentHashMap<String, CompletableFuture<T>> map, String key,
+                                                   Supplier<CompletableFuture<T>> loader) {
+        CompletableFuture<T> f = map.get(key);
+        if (f != null) return f;
+        CompletableFuture<T> created = new CompletableFuture<>();
+        f = map.putIfAbsent(key, created);
+        if (f != null) return f;
+        loader.get().whenComplete((value, ex) -> {
+            if (value == null) map.remove(key, created);
+            if (ex != null) created.completeExceptionally(ex);
+            else created.complete(value);
+        });
+        return created;
+    }
+
+    private byte[] load(String resource, String url) {
+        try {
+            if (resource != null) {
+                try (InputStream in = AssetCache.class.getResourceAsStream("/" + resource)) {
+                    if (in != null) return readAll(in);
+                }
+            }
+
+            Path cached = cacheDir.resolve(cacheName(url));
+            if (Files.isRegularFile(cached)) return Files.readAllBytes(cached);
+
+            byte[] data = download(url);
+            Files.createDirectories(cacheDir);
+            Path tmp = Files.createTempFile(cacheDir, "download", ".tmp");
+            Files.write(tmp, data);
+            Files.move(tmp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return data;
+        } catch (IOException | RuntimeException ex) {
+            System.out.println("Asset unavailable (" + url + "): " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] download(String url) throws IOException {
+        URLConnection conn = new URL(url).openConnection();
+        conn.setConnectTimeout(CONNECT_TIMEOUT_MS);
+        conn.setReadTimeout(READ_TIMEOUT_MS);
+        conn.setRequestProperty("User-Agent", "DWCC-MemoryGame");
+        if (conn instanceof HttpURLConnection) {
+            int code = ((HttpURLConnection) conn).getResponseCode();
+            if (code / 100 != 2) throw new IOException("HTTP " + code);
+        }
+        try (InputStream in = conn.getInputStream()) {
+            return readAll(in);
+        }
+    }
+
+    private static String cacheName(String url) {
+        String last = url.substring(url.lastIndexOf('/') + 1).replaceAll("[^A-Za-z0-9._-]", "_");
+        return Integer.toHexString(url.hashCode()) + "-" + last;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[8192];
+        int n;
+        while ((n = in.read(buf)) > 0) out.write(buf, 0, n);
+        return out.toByteArray();
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
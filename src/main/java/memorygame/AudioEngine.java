@@ -0,0 +1,207 @@
+package memorygame;
+
+import javax.sound.sampled.*;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sound effects for the board. Every effect is decoded once at startup into
+ * a small pool of open {@link Clip}s and played from a dedicated audio
+ * thread, so the EDT never blocks on audio and overlapping effects each get
+ * their own clip.
+ *
+ * <p>Effects are read from {@code sounds/<name>.wav} on the classpath or in
+ * the working directory; if none is found a short synthesized tone is used.
+ */
+final class AudioEngine {
+
+    enum Effect {
+        MATCH("match", new double[] {880, 1320}, 90, 0),
+        MISMATCH("mismatch", new double[] {220, 220}, 120, 80),
+        COMBO("combo", new double[] {660, 880, 1320}, 70, 0);
+
+        final String name;
+        final double[] toneHz;
+        final int toneMillis;
+        final int gapMillis;
+
+        Effect(String name, double[] toneHz, int toneMillis, int gapMillis) {
+            this.name = name;
+            this.toneHz = toneHz;
+            this.toneMillis = toneMillis;
+            this.gapMillis = gapMillis;
+        }
+    }
+
+    private static final int POOL_SIZE = 3;
+    private static final float SAMPLE_RATE = 22050f;
+
+    private final ExecutorService audioThread = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "audio");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<Effect, Clip[]> pools = new EnumMap<>(Effect.class);
+    private final Map<Effect, Integer> nextClip = new EnumMap<>(Effect.class);
+    private volatile float volume = 1f;
+    private Clip music;
+
+    AudioEngine() {
+        audioThread.execute(this::preload);
+    }
+
+    /** Plays an effect; returns immediately. */
+    void play(Effect effect) {
+        audioThread.execute(() -> {
+            Clip[] pool = pools.get(effect);
+            if (pool == null) return;
+            int start = nextClip.getOrDefault(effect, 0);
+            Clip clip = pool[start];
+            for (int i = 0; i < pool.length; i++) {
+                Clip c = pool[(start + i) % pool.length];
+                if (!c.isRunning()) {
+                    clip = c;
+                    start = (start + i) % pool.length;
+                    break;
+                }
+            }
+            nextClip.put(effect, (start + 1) % pool.length);
+            clip.stop();
+            clip.setFramePosition(0);
+            clip.start();
+        });
+    }
+
+    /** Decodes and starts background music from encoded audio bytes, replacing any current track. */
+    void playMusic(byte[] encoded) {
+        audioThread.execute(() -> {
+            closeMusic();
+            try (AudioInputStream ais = AudioSystem.getAudioInputStream(
+                    new BufferedInputStream(new ByteArrayInputStream(encoded)))) {
+                Clip clip = AudioSystem.getClip();
+                clip.open(ais);
+                applyVolume(clip);
+                clip.start();
+                music = clip;
+            } catch (UnsupportedAudioFileException | LineUnavailableException | IOException
+                     | IllegalArgumentException ex) {
+                System.out.println("Could not play music: " + ex.getMessage());
+            }
+        });
+    }
+
+    void stopMusic() {
+        audioThread.execute(this::closeMusic);
+    }
+
+    private void closeMusic() {
+        if (music != null) {
+            music.stop();
+            music.close();
+            music = null;
+        }
+    }
+
+    /** Sets the effect and music volume, 0 (silent) to 1 (full). */
+    void setVolume(float volume) {
+        this.volume = Math.max(0f, Math.min(1f, volume));
+        audioThread.execute(() -> {
+            for (Clip[] pool : pools.values()) {
+                for (Clip c : pool) applyVolume(c);
+            }
+            if (music != null) applyVolume(music);
+        });
+    }
+
+    void shutdown() {
+        audioThread.execute(() -> {
+            closeMusic();
+            for (Clip[] pool : pools.values()) {
+                for (Clip c : pool) c.close();
+            }
+            pools.clear();
+        });
+        audioThread.shutdown();
+    }
+
+    private void preload() {
+        for (Effect effect : Effect.values()) {
+            try {
+                AudioFormat format;
+                byte[] pcm;
+                InputStream in = openResource("sounds/" + effect.name + ".wav");
+                if (in != null) {
+                    try (AudioInputStream ais = AudioSystem.getAudioInputStream(new BufferedInputStream(in))) {
+                        format = ais.getFormat();
+                        pcm = readAll(ais);
+                    }
+                } else {
+                    format = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+                    pcm = synthesize(effect);
+                }
+
+                Clip[] pool = new Clip[POOL_SIZE];
+                for (int i = 0; i < POOL_SIZE; i++) {
+                    pool[i] = AudioSystem.getClip();
+                    pool[i].open(format, pcm, 0, pcm.length);
+                    applyVolume(pool[i]);
+                }
+                pools.put(effect, pool);
+            } catch (UnsupportedAudioFileException | LineUnavailableException | IOException
+                     | IllegalArgumentException ex) {
+                System.out.println("Audio unavailable for " + effect.name + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    private void applyVolume(Clip clip) {
+        if (clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
+            FloatControl gain = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
+            float db = volume <= 0.0001f ? gain.getMinimum() : (float) (20.0 * Math.log10(volume));
+            gain.setValue(Math.max(gain.getMinimum(), Math.min(gain.getMaximum(), db)));
+        }
+    }
+
+    private static InputStream openResource(String path) throws IOException {
+        InputStream in = AudioEngine.class.getResourceAsStream("/" + path);
+        if (in != null) return in;
+        File f = new File(path);
+        return f.isFile() ? Files.newInputStream(f.toPath()) : null;
+    }
+
+    private static byte[] readAll(AudioInputStream ais) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[8192];
+        int n;
+        while ((n = ais.read(buf)) > 0) out.write(buf, 0, n);
+        return out.toByteArray();
+    }
+
+    private static byte[] synthesize(Effect effect) {
+        int toneSamples = (int) (SAMPLE_RATE * effect.toneMillis / 1000);
+        int gapSamples = (int) (SAMPLE_RATE * effect.gapMillis / 1000);
+        int total = effect.toneHz.length * toneSamples + (effect.toneHz.length - 1) * gapSamples;
+        byte[] pcm = new byte[total * 2];
+        int pos = 0;
+        for (int t = 0; t < effect.toneHz.length; t++) {
+            double step = 2 * Math.PI * effect.toneHz[t] / SAMPLE_RATE;
+            for (int i = 0; i < toneSamples; i++) {
+                double envelope = Math.min(1.0, Math.min(i, toneSamples - i) / (SAMPLE_RATE * 0.005));
+                short s = (short) (Math.sin(i * step) * envelope * 0.4 * Short.MAX_VALUE);
+                pcm[pos++] = (byte) s;
+                pcm[pos++] = (byte) (s >> 8);
+            }
+            if (t < effect.toneHz.length - 1) pos += gapSamples * 2;
+        }
+        return pcm;
+    }
+}
@@ -0,0 +1,434 @@
+package memorygame;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Board renderer that paints every card itself instead of using one
+ * {@code JButton} per card. Text faces are rendered once per cell size into
+ * cached tiles, clicks are hit-tested with grid arithmetic, and a card change
+ * only repaints that card's rectangle. Flips and match highlights are tweened
+ * by the shared {@link AnimationScheduler} and composed in a VolatileImage
+ * back buffer. Faces in the {@link CardAtlas}, if one is set, are drawn
+ * from its pages at the resolution that suits the cell size and display.
+ * Other faces are requested from the {@link CardImageService} at the cell
+ * size; after a resize they are rescaled once the size has settled, and a
+ * face the cache has dropped meanwhile is requested again when painted.
+ */
+final class BoardCanvas extends JComponent {
+
+    private static final int GAP = 8;
+    private static final int PADDING = 10;
+    private static final int ARC = 10;
+    private static final int FLIP_MS = 180;
+    private static final int MATCH_FADE_MS = 350;
+    private static final int RESCALE_DELAY_MS = 250;
+
+    private final MemoryEngine engine;
+    private final CardImageService images;
+    private final CardCatalog catalog;
+    private int faceSize;
+    private final Timer rescaleTimer = new Timer(RESCALE_DELAY_MS, e -> rescale());
+    private final AnimationScheduler scheduler;
+    private IntConsumer clickListener = i -> { };
+    private CardAtlas atlas;
+    private final Runnable repainter = this::repaint;
+
+    // Per-card visual state: flip goes 0 (back) to 1 (face), glow 0 to 1 once matched.
+    private float[] flip = new float[0];
+    private float[] glow = new float[0];
+    private CardTween[] flipTweens = new CardTween[0];
+    private CardTween[] glowTweens = new CardTween[0];
+    private VolatileImage backBuffer;
+
+    private String[] contentById = new String[0];
+    private int rows = 1;
+    private int cols = 1;
+    private int highlighted = -1;
+
+    private Color backColor = new Color(0xE8F3EC);
+    private Color faceColor = Color.WHITE;
+    private Color matchedColor = new Color(0xC9F2D0);
+    private Color matchedOverlay = new Color(0xC9, 0xF2, 0xD0, 110);
+    private Color borderColor = new Color(0xBDBDBD);
+    private Color textColor = Color.BLACK;
+    private Color highlightColor = new Color(0xF5A623);
+    private final Stroke highlightStroke = new BasicStroke(3f);
+    private final Font font;
+
+    private int tileW = -1;
+    private int tileH = -1;
+    private final Map<String, BufferedImage> textTiles = new HashMap<>();
+    // Image keys (path@size) with a request in flight; painting asks for each one once.
+    private final Set<String> pendingFaces = new HashSet<>();
+    private final Rectangle scratch = new Rectangle();
+
+    private final class CardTween implements AnimationScheduler.Tween {
+        final int index;
+        final float[] values;
+        float from;
+        float to;
+
+        CardTween(int index, float[] values) {
+            this.index = index;
+            this.values = values;
+        }
+
+        @Override
+        public void update(float progress) {
+            if (values != flip && values != glow) return;  // board was rebound
+            values[index] = from + (to - from) * progress;
+            repaintCard(index);
+        }
+    }
+
+    BoardCanvas(MemoryEngine engine, CardImageService images, CardCatalog catalog, int imageSize,
+                AnimationScheduler scheduler) {
+        this.scheduler = scheduler;
+        this.engine = engine;
+        this.images = images;
+        this.catalog = catalog;
+        this.faceSize = imageSize;
+        rescaleTimer.setRepeats(false);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                rescaleTimer.restart();
+            }
+        });
+        this.font = new Font("SansSerif", Font.BOLD, 14);
+        setOpaque(true);
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                if (!SwingUtilities.isLeftMouseButton(e) || !isEnabled()) return;
+                int index = indexAt(e.getX(), e.getY());
+                if (index >= 0) clickListener.accept(index);
+            }
+        });
+    }
+
+    void setClickListener(IntConsumer listener) {
+        this.clickListener = listener;
+    }
+
+    void setAtlas(CardAtlas atlas) {
+        this.atlas = atlas;
+        repaint();
+    }
+
+    void setColors(Color background, Color back, Color matched, Color border, Color text) {
+        setBackground(background);
+        this.backColor = back;
+        this.matchedColor = matched;
+        this.matchedOverlay = new Color(matched.getRed(), matched.getGreen(), matched.getBlue(), 110);
+        this.borderColor = border;
+        if (!text.equals(textColor)) {
+            textColor = text;
+            textTiles.clear();
+        }
+        repaint();
+    }
+
+    /** Binds the canvas to the engine's current board; {@code contentById} maps card ids to content keys. */
+    void bind(String[] contentById) {
+        this.contentById = contentById;
+        textTiles.clear();
+        highlighted = -1;
+        int total = engine.cardCount();
+        cols = Math.max(1, (int) Math.ceil(Math.sqrt(total)));
+        rows = Math.max(1, (int) Math.ceil((double) total / cols));
+        if (flip.length < total) {
+            flip = new float[total];
+            glow = new float[total];
+            flipTweens = new CardTween[total];
+            glowTweens = new CardTween[total];
+            for (int i = 0; i < total; i++) {
+                flipTweens[i] = new CardTween(i, flip);
+                glowTweens[i] = new CardTween(i, glow);
+            }
+        }
+        for (int i = 0; i < total; i++) {
+            flip[i] = engine.isFaceUp(i) ? 1f : 0f;
+            glow[i] = engine.isMatched(i) ? 1f : 0f;
+        }
+        int size = targetFaceSize();
+        if (size > 0) faceSize = size;
+        requestFaces();
+        repaint();
+    }
+
+    /** Size of the image variants currently requested for faces. */
+    int faceSize() {
+        return faceSize;
+    }
+
+    private void rescale() {
+        int size = targetFaceSize();
+        if (size <= 0 || size == faceSize) return;
+        faceSize = size;
+        requestFaces();
+    }
+
+    private void requestFaces() {
+        for (String key : contentById) {
+            if (atlas != null && atlas.contains(key)) continue;
+            String path = catalog.imageRef(key);
+            if (path != null && images.getIfReady(path, faceSize) == null) requestFace(path);
+        }
+    }
+
+    /** Requests the current variant of {@code path} unless already pending, repainting once it loads. */
+    private void requestFace(String path) {
+        String key = path + '@' + faceSize;
+        if (!pendingFaces.add(key)) return;
+        images.request(path, faceSize).whenComplete((img, ex) -> SwingUtilities.invokeLater(() -> {
+            pendingFaces.remove(key);
+            if (img != null) repaint();
+        }));
+    }
+
+    /** Variant size for the current cells on this display, or 0 before the first layout. */
+    private int targetFaceSize() {
+        int side = Math.min(cellWidth(), cellHeight()) - 8;
+        return side > 0 ? CardImageService.sizeFor((int) Math.ceil(side * deviceScale())) : 0;
+    }
+
+    /** Animates a card towards its current engine state. */
+    void animateCard(int index) {
+        if (index < 0 || index >= engine.cardCount()) return;
+        float flipTarget = engine.isFaceUp(index) ? 1f : 0f;
+        if (flip[index] != flipTarget) {
+            CardTween t = flipTweens[index];
+            t.from = flip[index];
+            t.to = flipTarget;
+            scheduler.animate(FLIP_MS, t, null);
+        }
+        float glowTarget = engine.isMatched(index) ? 1f : 0f;
+        if (glow[index] != glowTarget) {
+            CardTween t = glowTweens[index];
+            t.from = glow[index];
+            t.to = glowTarget;
+            scheduler.animate(MATCH_FADE_MS, t, null);
+        }
+        repaintCard(index);
+    }
+
+    /** Outlines one card, for hints; -1 clears the outline. */
+    void setHighlight(int index) {
+        int old = highlighted;
+        highlighted = index;
+        repaintCard(old);
+        repaintCard(index);
+    }
+
+    /** Repaints only the given card. */
+    void repaintCard(int index) {
+        if (index < 0 || index >= engine.cardCount()) return;
+        cellBounds(index, scratch);
+        repaint(scratch.x, scratch.y, scratch.width, scratch.height);
+    }
+
+    int indexAt(int x, int y) {
+        int cw = cellWidth(), ch = cellHeight();
+        if (cw <= 0 || ch <= 0) return -1;
+        int lx = x - PADDING, ly = y - PADDING;
+        if (lx < 0 || ly < 0) return -1;
+        int col = lx / (cw + GAP), row = ly / (ch + GAP);
+        if (col >= cols || row >= rows) return -1;
+        if (lx - col * (cw + GAP) >= cw || ly - row * (ch + GAP) >= ch) return -1;
+        int index = row * cols + col;
+        return index < engine.cardCount() ? index : -1;
+    }
+
+    void cellBounds(int index, Rectangle r) {
+        int cw = cellWidth(), ch = cellHeight();
+        r.setBounds(PADDING + (index % cols) * (cw + GAP), PADDING + (index / cols) * (ch + GAP), cw, ch);
+    }
+
+    private int cellWidth() {
+        return (getWidth() - 2 * PADDING - (cols - 1) * GAP) / cols;
+    }
+
+    private int cellHeight() {
+        return (getHeight() - 2 * PADDING - (rows - 1) * GAP) / rows;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(cols * 110 + 2 * PADDING, rows * 110 + 2 * PADDING);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g0) {
+        Rectangle clip = g0.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+        if (getWidth() <= 0 || getHeight() <= 0) return;
+
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null) {
+            paintBoard((Graphics2D) g0, clip);
+            return;
+        }
+        do {
+            if (backBuffer == null || backBuffer.getWidth() != getWidth() || backBuffer.getHeight() != getHeight()
+                    || backBuffer.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (backBuffer != null) backBuffer.flush();
+                backBuffer = gc.createCompatibleVolatileImage(getWidth(), getHeight());
+            }
+            Graphics2D bg = backBuffer.createGraphics();
+            bg.setClip(clip);
+            paintBoard(bg, clip);
+            bg.dispose();
+            g0.drawImage(backBuffer, clip.x, clip.y, clip.x + clip.width, clip.y + clip.height,
+                    clip.x, clip.y, clip.x + clip.width, clip.y + clip.height, null);
+        } while (backBuffer.contentsLost());
+    }
+
+    private void paintBoard(Graphics2D g, Rectangle clip) {
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        int cw = cellWidth(), ch = cellHeight();
+        if (cw <= 0 || ch <= 0) return;
+        if (cw != tileW || ch != tileH) {
+            tileW = cw;
+            tileH = ch;
+            textTiles.clear();
+        }
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+        int firstCol = Math.max(0, (clip.x - PADDING) / (cw + GAP));
+        int lastCol = Math.min(cols - 1, (clip.x + clip.width - PADDING) / (cw + GAP));
+        int firstRow = Math.max(0, (clip.y - PADDING) / (ch + GAP));
+        int lastRow = Math.min(rows - 1, (clip.y + clip.height - PADDING) / (ch + GAP));
+        int total = engine.cardCount();
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int index = row * cols + col;
+                if (index >= total) break;
+                paintCard(g, index, PADDING + col * (cw + GAP), PADDING + row * (ch + GAP), cw, ch);
+            }
+        }
+    }
+
+    private void paintCard(Graphics2D g, int index, int x, int y, int w, int h) {
+        float p = flip[index];
+        boolean faceUp = p >= 0.5f;
+        boolean matched = engine.isMatched(index) && glow[index] > 0f;
+        if (p > 0f && p < 1f) {
+            // Mid-flip: squeeze the card horizontally around its centre.
+            int sw = Math.max(1, Math.round(w * Math.abs(1f - 2f * p)));
+            Graphics2D cg = (Graphics2D) g.create();
+            cg.translate(x + (w - sw) / 2.0, y);
+            cg.scale((double) sw / w, 1.0);
+            paintCardFace(cg, index, 0, 0, w, h, faceUp, false);
+            cg.dispose();
+            return;
+        }
+        paintCardFace(g, index, x, y, w, h, faceUp, matched);
+    }
+
+    private void paintCardFace(Graphics2D g, int index, int x, int y, int w, int h, boolean faceUp, boolean matched) {
+        g.setColor(matched && glow[index] >= 1f ? matchedColor : faceUp ? faceColor : backColor);
+        g.fillRoundRect(x, y, w, h, ARC, ARC);
+
+        if (faceUp) {
+            String key = contentById[engine.cardId(index)];
+            int side = Math.max(1, Math.min(w, h) - 8);
+            boolean drawn = atlas != null
+                    && atlas.draw(g, key, x + (w - side) / 2, y + (h - side) / 2, side, deviceScale(), repainter);
+            if (!drawn) drawn = drawImage(g, key, x, y, w, h);
+            if (!drawn) g.drawImage(textTile(key), x, y, null);
+            if (matched) {
+                Composite old = g.getComposite();
+                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, Math.min(1f, glow[index])));
+                g.setColor(matchedOverlay);
+                g.fillRoundRect(x, y, w, h, ARC, ARC);
+                g.setComposite(old);
+            }
+        }
+
+        if (index == highlighted) {
+            Stroke old = g.getStroke();
+            g.setStroke(highlightStroke);
+            g.setColor(highlightColor);
+            g.drawRoundRect(x + 1, y + 1, w - 3, h - 3, ARC, ARC);
+            g.setStroke(old);
+        } else {
+            g.setColor(borderColor);
+            g.drawRoundRect(x, y, w - 1, h - 1, ARC, ARC);
+        }
+    }
+
+    private boolean drawImage(Graphics2D g, String key, int x, int y, int w, int h) {
+        String path = catalog.imageRef(key);
+        if (path == null) return false;
+        BufferedImage img = images.getIfReady(path, faceSize);
+        if (img == null) {
+            requestFace(path);
+            img = images.getClosestReady(path, faceSize);
+        }
+        if (img == null) return false;
+        int s = Math.max(1, Math.min(w, h) - 8);
+        g.drawImage(img, x + (w - s) / 2, y + (h - s) / 2, s, s, null);
+        return true;
+    }
+
+    /** Device pixels per user-space pixel, so HiDPI displays get a finer atlas resolution. */
+    private double deviceScale() {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        return gc != null ? gc.getDefaultTransform().getScaleX() : 1.0;
+    }
+
+    private BufferedImage textTile(String key) {
+        BufferedImage tile = textTiles.get(key);
+        if (tile != null) return tile;
+
+        tile = new BufferedImage(tileW, tileH, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = tile.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(font);
+        g.setColor(textColor);
+        FontMetrics fm = g.getFontMetrics();
+        List<String> lines = wrap(key, fm, tileW - 8);
+        int lineH = fm.getHeight();
+        int y = (tileH - lines.size() * lineH) / 2 + fm.getAscent();
+        for (String line : lines) {
+            g.drawString(line, (tileW - fm.stringWidth(line)) / 2, y);
+            y += lineH;
+        }
+        g.dispose();
+        textTiles.put(key, tile);
+        return tile;
+    }
+
+    private static List<String> wrap(String text, FontMetrics fm, int width) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        for (String word : text.split(" ")) {
+            if (line.length() > 0 && fm.stringWidth(line + " " + word) > width) {
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+            if (line.length() > 0) line.append(' ');
+            line.append(word);
+        }
+        if (line.length() > 0) lines.add(line.toString());
+        return lines;
+    }
+}
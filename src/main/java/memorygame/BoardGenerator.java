@@ -0,0 +1,66 @@
+package memorygame;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Deterministic board layouts. A game seed plus the level and the number of
+ * restarts fully determines every deal, so a reported board can be rebuilt
+ * and tournament boards can be generated ahead of time without boxing.
+ */
+final class BoardGenerator {
+
+    private BoardGenerator() {
+    }
+
+    /** Seed of one deal, derived from the game seed, level and restart count. */
+    static long dealSeed(long gameSeed, int level, int restarts) {
+        return SplitMix64.mix(gameSeed ^ SplitMix64.mix(((long) level << 32) | (restarts & 0xFFFFFFFFL)));
+    }
+
+    /** Fills {@code out[0 .. 2*pairs)} with a shuffled layout of pair ids {@code 0 .. pairs-1}. */
+    static void deal(long seed, int pairs, int[] out) {
+        int n = pairs * 2;
+        for (int i = 0; i < n; i++) out[i] = i >> 1;
+        SplitMix64 rng = new SplitMix64(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int t = out[i];
+            out[i] = out[j];
+            out[j] = t;
+        }
+    }
+
+    /**
+     * Picks {@code count} distinct entries of {@code pool} for the deal
+     * {@code seed}, in card-id order, with a partial Fisher-Yates shuffle.
+     */
+    static String[] pick(String[] pool, long seed, int count) {
+        if (count > pool.length) throw new IllegalArgumentException(count + " cards from a pool of " + pool.length);
+        int[] order = new int[pool.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        SplitMix64 rng = new SplitMix64(SplitMix64.mix(seed ^ 0x9E3779B97F4A7C15L));
+        String[] out = new String[count];
+        for (int i = 0; i < count; i++) {
+            int j = i + rng.nextInt(pool.length - i);
+            int t = order[j];
+            order[j] = order[i];
+            order[i] = t;
+            out[i] = pool[t];
+        }
+        return out;
+    }
+
+    /** A fresh game seed; never {@link LeaderboardRecord#NO_SEED}. */
+    static long randomSeed() {
+        long s = SplitMix64.mix(System.nanoTime() ^ ThreadLocalRandom.current().nextLong());
+        return s == LeaderboardRecord.NO_SEED ? 1 : s;
+    }
+
+    static String format(long seed) {
+        return String.format("%016X", seed);
+    }
+
+    static long parse(String text) {
+        return Long.parseUnsignedLong(text.trim(), 16);
+    }
+}
@@ -0,0 +1,119 @@
+package memorygame;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The DWCC card set that ships with the game. Face images are read from
+ * {@code <imageDir>/<key>.jpg} when present; cards without one are drawn as
+ * text.
+ */
+final class BuiltInCatalog implements CardCatalog {
+
+    private static final String[][] LEVEL_CONTENT = {
+            {"SIT", "JPCS", "SOE", "SOA"},
+            {"TDG", "TAJ", "GTS", "Halcons", "SBHTM", "SAFA"},
+            {"SE", "SAS", "SCJ", "SC", "SEB", "OBRA", "DDC", "Musika Divinista"},
+            {"Miss DWCC Organization", "SAO", "SAYM", "Phoenix Debate Council", "DivinisTanghalan",
+                    "DWCC Saver-G", "Peer Facilitators' Club", "Mangyan Student Organization",
+                    "DWCC Rotaract Club of Calapan", "UAPSA"},
+            {"PICE", "Association of Student Grantees", "ATEMS", "AJE", "AMMS", "CELTS",
+                    "AJPS", "JIECEP", "LIA", "SYFINEX", "JPIA", "SVD Co-Missionary"}
+    };
+
+    private static final String[] CARDS =
+            Arrays.stream(LEVEL_CONTENT).flatMap(Arrays::stream).distinct().toArray(String[]::new);
+    private static final GameRules RULES =
+            GameRules.DEFAULT.withEndless(DifficultyCurve.DEFAULT.withMaxPairs(CARDS.length));
+
+    private final Path imageDir;
+    private final Map<String, String> descriptions = new HashMap<>();
+
+    BuiltInCatalog(Path imageDir) {
+        this.imageDir = imageDir;
+        descriptions.put("SIT", "School of Information Technology — The academic unit that trains future IT professionals.");
+        descriptions.put("JPCS", "Junior Philippine Computer Society — An organization for IT student leadership and skills.");
+        descriptions.put("SOE", "School of Education — Prepares future teachers and educators.");
+        descriptions.put("SOA", "School of Accountancy — Academic unit for future Certified Public Accountants.");
+
+        descriptions.put("TDG", "The DWCC Gazette — The official campus publication of DWCC.");
+        descriptions.put("TAJ", "The Accountants Journal — Research publication of the Accountancy department.");
+        descriptions.put("GTS", "Guild of Tourism Students — Organization representing tourism students.");
+        descriptions.put("Halcons", "The DWCC Halcons — Official athletic team of DWCC.");
+        descriptions.put("SBHTM", "School of Business Hospitality and Tourism Management — Academic unit in business and tourism.");
+        descriptions.put("SAFA", "School of Architecture and Fine Arts — Trains students in creative and architectural design.");
+
+        descriptions.put("SE", "School of Engineering — College for aspiring engineers.");
+        descriptions.put("SAS", "School of Arts and Sciences — Handles general education and liberal arts programs.");
+        descriptions.put("SCJ", "School of Criminal Justice — Trains students in criminology and law enforcement.");
+        descriptions.put("SC", "Student Council — Highest governing body of the student community.");
+        descriptions.put("SEB", "Student Electoral Board — Oversees campus-wide elections.");
+        descriptions.put("OBRA", "Obra Divinista — Official arts and creative production guild.");
+        descriptions.put("DDC", "DWCC Dance Company — Performing arts and dance troupe.");
+        descriptions.put("Musika Divinista", "Musika Divinista — Official music choir and ensemble of DWCC.");
+
+        descriptions.put("Miss DWCC Organization", "The official organization behind the Miss DWCC pageant.");
+        descriptions.put("SAO", "Student Affairs Office — Handles all student services and concerns.");
+        descriptions.put("SAYM", "Saint Arnold Youth Ministry — Religious formation group for students.");
+        descriptions.put("Phoenix Debate Council", "Phoenix Debate Council — Competitive public speaking and debate group.");
+        descriptions.put("DivinisTanghalan", "DivinisTanghalan — Theater performance and stage acting guild.");
+        descriptions.put("DWCC Saver-G", "Campus group focused on environmental preservation and sustainability.");
+        descriptions.put("Peer Facilitators' Club", "Peer support and counseling advocacy group.");
+        descriptions.put("Mangyan Student Organization", "Organization of DWCC students belonging to the Mangyan tribes.");
+        descriptions.put("DWCC Rotaract Club of Calapan", "Community service club affiliated with Rotary International.");
+        descriptions.put("UAPSA", "United Architects of the Philippines Students Auxiliary - Student group for future architects, promoting design skills and professional growth.");
+
+        descriptions.put("PICE", "Philippine Institute of Civil Engineers - Student organization for aspiring civil engineers, promoting skills and professional development.");
+        descriptions.put("Association of Student Grantees", "Organization for scholarship and grant beneficiaries.");
+        descriptions.put("ATEMS", "Alliance for Transformative Education through Mathematics and Science — STEM academic organization.");
+        descriptions.put("AJE", "Association of Junior Executives — Business administration student group.");
+        descriptions.put("AMMS", "Association of Marketing Management Students — Business and marketing events group.");
+        descriptions.put("CELTS", "Childhood Education and Language Teaching Students— Organization for future preschool and language educators.");
+        descriptions.put("AJPS", "Alliance of Junior Political Scientists — Student group for future political scientists, fostering knowledge and leadership skills.");
+        descriptions.put("JIECEP", "Junior Institute of Electronics Engineers of the Philippines — Student organization for aspiring electronics engineers, promoting skills and professional growth.");
+        descriptions.put("LIA", "Legion of Imaginative Artists — Intellectual and academic literary circle.");
+        descriptions.put("SYFINEX", "SYFINEX — Financial literacy and investment organization.");
+        descriptions.put("JPIA", "Junior Philippine Institute of Accountants — National accounting student organization.");
+        descriptions.put("SVD Co-Missionary", "SVD Co-Missionary — Religious volunteer and mission assistance group.");
+    }
+
+    @Override
+    public GameRules rules() {
+        return RULES;
+    }
+
+    @Override
+    public String[] level(int level) {
+        return LEVEL_CONTENT[level - 1];
+    }
+
+    @Override
+    public String[] cards() {
+        return CARDS;
+    }
+
+    @Override
+    public String description(String key) {
+        return descriptions.get(key);
+    }
+
+    @Override
+    public String imageRef(String key) {
+        return imageDir.resolve(key + ".jpg").toString();
+    }
+
+    @Override
+    public InputStream openImage(String ref) throws IOException {
+        return Files.newInputStream(imageDir.getFileSystem().getPath(ref));
+    }
+
+    @Override
+    public Path atlasDir() {
+        return imageDir.resolve("atlas");
+    }
+}
@@ -0,0 +1,259 @@
+package memorygame;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.LineBorder;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Board of one {@code JButton} per card, the default renderer for boards of
+ * up to a few dozen cards. Buttons come from a pool that is rebound to each
+ * new board, so a restart or a level of the same size only changes their
+ * faces; the component tree and grid are touched only when the board shape
+ * changes. Faces come from the {@link CardAtlas}, if one is set, or the
+ * {@link CardImageService} at the cell size; after a resize they are rescaled
+ * once the size has settled.
+ */
+final class ButtonBoard extends JPanel {
+
+    private static final int RESCALE_DELAY_MS = 250;
+    private static final LineBorder CARD_BORDER = new LineBorder(new Color(0xBDBDBD));
+    private static final LineBorder HINT_BORDER = new LineBorder(new Color(0xF5A623), 3);
+    private static final Color CARD_BG = new Color(0xE8F3EC);
+
+    private final MemoryEngine engine;
+    private final CardImageService images;
+    private final CardCatalog catalog;
+    private final List<CardButton> cards = new ArrayList<>();
+    private final GridLayout grid = new GridLayout(1, 1, 8, 8);
+    // Icons hold their images strongly, outside the image cache budget; only this board's are kept.
+    private final Map<String, Icon> faceIcons = new HashMap<>();
+    private final Timer rescaleTimer = new Timer(RESCALE_DELAY_MS, e -> rescaleFaces());
+    private IntConsumer clickListener = i -> { };
+    private CardAtlas atlas;
+    private Color textColor = Color.BLACK;
+    private Font cardFont;
+    // Variant size in device pixels, and the side the icon covers in user space.
+    private int faceSize;
+    private int faceSide;
+    private int bound;
+
+    ButtonBoard(MemoryEngine engine, CardImageService images, CardCatalog catalog, int imageSize) {
+        this.engine = engine;
+        this.images = images;
+        this.catalog = catalog;
+        this.faceSize = imageSize;
+        this.faceSide = imageSize;
+        setLayout(grid);
+        setBorder(new EmptyBorder(10, 10, 10, 10));
+        rescaleTimer.setRepeats(false);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                rescaleTimer.restart();
+            }
+        });
+    }
+
+    void setClickListener(IntConsumer listener) {
+        this.clickListener = listener;
+    }
+
+    void setAtlas(CardAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    /** Colour of text faces; applied as buttons are next bound. */
+    void setTextColor(Color text) {
+        this.textColor = text;
+    }
+
+    /** Size of the image variants currently requested for faces. */
+    int faceSize() {
+        return faceSize;
+    }
+
+    /** Grows the pool to {@code size} buttons, so the first board of that size creates none. */
+    void ensurePool(int size) {
+        while (cards.size() < size) {
+            CardButton b = new CardButton(cards.size());
+            b.addActionListener(e -> clickListener.accept(b.index));
+            cards.add(b);
+        }
+    }
+
+    /**
+     * Binds the pooled buttons to the engine's current board;
+     * {@code contentById} maps card ids to content keys. Returns true if the
+     * grid changed shape and was laid out again.
+     */
+    boolean bind(String[] contentById) {
+        int total = engine.cardCount();
+        faceIcons.keySet().retainAll(Arrays.asList(contentById));
+        for (int i = total; i < cards.size(); i++) cards.get(i).release();
+        int cols = (int) Math.ceil(Math.sqrt(total));
+        int rows = (int) Math.ceil((double) total / cols);
+        ensurePool(total);
+        bound = total;
+
+        for (int i = 0; i < total; i++) {
+            cards.get(i).bind(contentById[engine.cardId(i)]);
+        }
+
+        // Only touch the component tree and layout when the board shape changes;
+        // a restart or same-size level just rebinds the existing buttons.
+        boolean relayout = getComponentCount() != total || grid.getRows() != rows || grid.getColumns() != cols;
+        if (relayout) {
+            while (getComponentCount() > total) {
+                remove(getComponentCount() - 1);
+            }
+            for (int i = getComponentCount(); i < total; i++) {
+                add(cards.get(i));
+            }
+            grid.setRows(rows);
+            grid.setColumns(cols);
+            revalidate();
+            rescaleTimer.restart();
+        }
+        repaint();
+        return relayout;
+    }
+
+    /** Drops every face while another renderer shows the board. */
+    void release() {
+        faceIcons.clear();
+        for (CardButton b : cards) b.release();
+        bound = 0;
+    }
+
+    /** Shows a card's current engine state. */
+    void refreshCard(int index) {
+        cards.get(index).refresh();
+    }
+
+    void setHighlight(int index, boolean on) {
+        cards.get(index).setBorder(on ? HINT_BORDER : CARD_BORDER);
+    }
+
+    /**
+     * Picks the face size from the current grid cell bounds and reloads the
+     * faces of the board at that size. Old icons stay up until the new ones
+     * are ready.
+     */
+    private void rescaleFaces() {
+        if (bound == 0) return;
+        CardButton cell = cards.get(0);
+        Insets in = cell.getInsets();
+        int side = Math.min(cell.getWidth() - in.left - in.right, cell.getHeight() - in.top - in.bottom) - 4;
+        if (side <= 0) return;
+        GraphicsConfiguration gc = cell.getGraphicsConfiguration();
+        double scale = gc != null ? gc.getDefaultTransform().getScaleX() : 1.0;
+        int size = CardImageService.sizeFor((int) Math.ceil(side * scale));
+        if (size == faceSize && side == faceSide) return;
+        faceSize = size;
+        faceSide = side;
+        faceIcons.clear();
+        for (int i = 0; i < bound; i++) {
+            cards.get(i).loadFace();
+        }
+    }
+
+    private final class CardButton extends JButton {
+        private final int index;
+        private String content;
+        private Icon faceIcon;
+
+        CardButton(int index) {
+            super(" ");
+            this.index = index;
+            if (cardFont == null) cardFont = getFont().deriveFont(Font.BOLD, 14f);
+            setFont(cardFont);
+            setFocusPainted(false);
+            setBorder(CARD_BORDER);
+            setBackground(CARD_BG);
+        }
+
+        /** Rebinds this pooled button to new card content and turns it face down. */
+        void bind(String content) {
+            this.content = content;
+            setForeground(textColor);
+            setBorder(CARD_BORDER);
+            faceIcon = null;
+            loadFace();
+            refresh();
+        }
+
+        /** Drops the face of a pooled button that is not on the board. */
+        void release() {
+            content = null;
+            faceIcon = null;
+            setIcon(null);
+        }
+
+        /** Sets the face icon at the current face size, keeping the old one until it has loaded. */
+        void loadFace() {
+            Icon cached = faceIcons.get(content);
+            if (cached == null && atlas != null && atlas.contains(content)) {
+                cached = atlas.icon(content, faceSide);
+                faceIcons.put(content, cached);
+            }
+            String path = catalog.imageRef(content);
+            if (cached == null && path != null) {
+                BufferedImage ready = images.getIfReady(path, faceSize);
+                if (ready != null) {
+                    cached = CardImageService.icon(ready, faceSide);
+                    faceIcons.put(content, cached);
+                } else {
+                    String boundContent = content;
+                    int size = faceSize;
+                    int side = faceSide;
+                    images.request(path, size).thenAccept(img -> {
+                        if (img == null) return;
+                        SwingUtilities.invokeLater(() -> {
+                            if (size != faceSize || side != faceSide) return;
+                            Icon icon = faceIcons.computeIfAbsent(boundContent, k -> CardImageService.icon(img, side));
+                            if (boundContent.equals(this.content)) {
+                                faceIcon = icon;
+                                if (engine.isFaceUp(index)) showFace();
+                            }
+                        });
+                    });
+                }
+            }
+            if (cached != null) {
+                faceIcon = cached;
+                if (engine.isFaceUp(index)) showFace();
+            }
+        }
+
+        void refresh() {
+            setEnabled(!engine.isMatched(index));
+            if (engine.isFaceUp(index)) showFace();
+            else hideFace();
+        }
+
+        void showFace() {
+            if (faceIcon != null) {
+                setIcon(faceIcon);
+                setText(null);
+            } else {
+                setIcon(null);
+                setText("<html><center>" + content + "</center></html>");
+            }
+        }
+
+        void hideFace() {
+            setIcon(null);
+            setText(" ");
+        }
+    }
+}
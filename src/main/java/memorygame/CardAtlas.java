@@ -0,0 +1,381 @@
+package memorygame;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Card faces packed into a few sprite sheets, built ahead of time by
+ * {@code java memorygame.CardAtlas build}. Each resolution has its own pages of
+ * {@code COLUMNS x ROWS} square cells, and {@code atlas.idx} maps every card
+ * key to its page and cell:
+ *
+ * <pre>
+ *   sizes=64,128,256
+ *   columns=8
+ *   rows=8
+ *   0 3 1 SIT              page, column, row, card key
+ * </pre>
+ *
+ * At runtime only the index is read up front. A page is decoded the first
+ * time a face on it is drawn at that resolution, and converted to a
+ * compatible image so Java2D can keep it in video memory. Decoded pages are
+ * held in a {@link MemoryCache} and decoded again if they were evicted. Faces are then
+ * drawn as sub-rectangles of the page, with no per-card image objects.
+ */
+final class CardAtlas {
+
+    static final String INDEX = "atlas.idx";
+    static final int[] DEFAULT_SIZES = {64, 128, 256};
+    private static final int COLUMNS = 8;
+    private static final int ROWS = 8;
+
+    private final Path dir;
+    private final int[] sizes;
+    private final int columns;
+    private final int rows;
+    private final Map<String, int[]> cells;
+    private final MemoryCache<Long, BufferedImage> pages;
+    private final Map<Long, CompletableFuture<BufferedImage>> loading = new ConcurrentHashMap<>();
+    // Callbacks to run once a page being loaded is ready; one entry per page, each callback once.
+    private final Map<Long, Set<Runnable>> waiting = new ConcurrentHashMap<>();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "card-atlas-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private CardAtlas(Path dir, int[] sizes, int columns, int rows, Map<String, int[]> cells, long maxBytes) {
+        this.pages = new MemoryCache<>("Atlas page", maxBytes, CardImageService::bytes);
+        this.dir = dir;
+        this.sizes = sizes;
+        this.columns = columns;
+        this.rows = rows;
+        this.cells = cells;
+    }
+
+    /**
+     * Reads the index in {@code dir}; returns {@code null} if no atlas has
+     * been built there. Decoded pages are kept within {@code maxBytes}.
+     */
+    static CardAtlas open(Path dir, long maxBytes) throws IOException {
+        Path index = dir.resolve(INDEX);
+        if (!Files.exists(index)) return null;
+        int[] sizes = null;
+        int columns = COLUMNS, rows = ROWS;
+        Map<String, int[]> cells = new HashMap<>();
+        for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            try {
+                if (line.startsWith("sizes=")) {
+                    sizes = Arrays.stream(line.substring(6).split(",")).map(String::trim)
+                            .mapToInt(Integer::parseInt).sorted().toArray();
+                } else if (line.startsWith("columns=")) {
+                    columns = Integer.parseInt(line.substring(8).trim());
+                } else if (line.startsWith("rows=")) {
+                    rows = Integer.parseInt(line.substring(5).trim());
+                } else {
+                    String[] f = line.split(" ", 4);
+                    cells.put(f[3], new int[]{Integer.parseInt(f[0]), Integer.parseInt(f[1]), Integer.parseInt(f[2])});
+                }
+            } catch (RuntimeException ex) {
+                throw new IOException(INDEX + ": bad line: " + line);
+            }
+        }
+        if (sizes == null || sizes.length == 0) throw new IOException(INDEX + " lists no sizes");
+        return new CardAtlas(dir, sizes, columns, rows, cells, maxBytes);
+    }
+
+    boolean contains(String key) {
+        return cells.containsKey(key);
+    }
+
+    int cardCount() {
+        return cells.size();
+    }
+
+    int[] sizes() {
+        return sizes.clone();
+    }
+
+    /** Smallest built resolution of at least {@code pixels}, or the largest one. */
+    int sizeFor(int pixels) {
+        for (int s : sizes) {
+            if (s >= pixels) return s;
+        }
+        return sizes[sizes.length - 1];
+    }
+
+    /**
+     * Draws {@code key} into the square at (x, y) with side {@code side},
+     * from the resolution that suits {@code side * scale} device pixels. If
+     * that page is not loaded yet it is requested, {@code onLoaded} runs when
+     * it is ready, and a page already loaded at another resolution is used
+     * meanwhile. Returns false if nothing could be drawn.
+     */
+    boolean draw(Graphics g, String key, int x, int y, int side, double scale, Runnable onLoaded) {
+        int[] cell = cells.get(key);
+        if (cell == null) return false;
+        int wanted = sizeFor((int) Math.ceil(side * scale));
+        BufferedImage page = page(wanted, cell[0], onLoaded);
+        int size = wanted;
+        if (page == null) {
+            for (int i = sizes.length - 1; i >= 0 && page == null; i--) {
+                page = loadedPage(sizes[i], cell[0]);
+                size = sizes[i];
+            }
+            if (page == null) return false;
+        }
+        int sx = cell[1] * size, sy = cell[2] * size;
+        return g.drawImage(page, x, y, x + side, y + side, sx, sy, sx + size, sy + size, null);
+    }
+
+    /** An icon that draws {@code key} at {@code size} pixels, repainting its component once loaded. */
+    Icon icon(String key, int size) {
+        return new Icon() {
+            @Override
+            public void paintIcon(Component c, Graphics g, int x, int y) {
+                double scale = c.getGraphicsConfiguration() != null
+                        ? c.getGraphicsConfiguration().getDefaultTransform().getScaleX() : 1.0;
+                draw(g, key, x, y, size, scale, new Repaint(c));
+            }
+
+            @Override
+            public int getIconWidth() { return size; }
+
+            @Override
+            public int getIconHeight() { return size; }
+        };
+    }
+
+    /** Starts loading the pages of the given keys at {@code size}. */
+    void preload(String[] keys, int size) {
+        for (String key : keys) {
+            int[] cell = cells.get(key);
+            if (cell != null && loadedPage(size, cell[0]) == null) request(size, cell[0]);
+        }
+    }
+
+    void shutdown() {
+        loader.shutdownNow();
+    }
+
+    MemoryCache<Long, BufferedImage> cache() {
+        return pages;
+    }
+
+    /**
+     * Called while painting, so a page still loading is asked for on every
+     * frame: the page gets one completion callback, each distinct
+     * {@code onLoaded} is queued only once, and the cache counts the miss
+     * once rather than per frame.
+     */
+    private BufferedImage page(int size, int page, Runnable onLoaded) {
+        long key = pageKey(size, page);
+        BufferedImage img = loading.containsKey(key) ? pages.peek(key) : pages.get(key);
+        if (img != null) return img;
+        CompletableFuture<BufferedImage> f = request(size, page);
+        if (f.isDone()) return f.isCompletedExceptionally() ? null : f.join();
+        if (onLoaded != null) {
+            waiting.computeIfAbsent(key, k -> {
+                f.whenComplete((result, ex) -> SwingUtilities.invokeLater(() -> {
+                    Set<Runnable> callbacks = waiting.remove(k);
+                    // Nothing new to draw after a failure; repainting would only ask again.
+                    if (callbacks != null && result != null) callbacks.forEach(Runnable::run);
+                }));
+                return ConcurrentHashMap.newKeySet();
+            }).add(onLoaded);
+        }
+        return null;
+    }
+
+    /** Repaints a component; equal for the same component, so it is queued once per page. */
+    private static final class Repaint implements Runnable {
+        private final Component target;
+
+        Repaint(Component target) {
+            this.target = target;
+        }
+
+        @Override
+        public void run() {
+            target.repaint();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Repaint && ((Repaint) o).target == target;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(target);
+        }
+    }
+
+    /** Probe for a fallback or preload; counts no hit or miss. */
+    private BufferedImage loadedPage(int size, int page) {
+        return pages.peek(pageKey(size, page));
+    }
+
+    private CompletableFuture<BufferedImage> request(int size, int page) {
+        long key = pageKey(size, page);
+        return loading.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> {
+            BufferedImage img;
+            try {
+                img = loadPage(size, page);
+            } catch (RuntimeException | OutOfMemoryError ex) {
+                // Unlike an unreadable page this may pass, so it is not kept as failed.
+                System.out.println("Atlas page load error: " + ex);
+                loading.remove(key);
+                return null;
+            }
+            if (img != null) {
+                pages.put(key, img);
+                loading.remove(key);
+            }
+            return img;
+        }, loader));
+    }
+
+    private static long pageKey(int size, int page) {
+        return ((long) size << 32) | page;
+    }
+
+    private BufferedImage loadPage(int size, int page) {
+        Path file = dir.resolve(pageName(size, page));
+        try (InputStream in = Files.newInputStream(file)) {
+            BufferedImage src = ImageIO.read(in);
+            if (src == null) {
+                System.out.println("Unsupported atlas page: " + file);
+                return null;
+            }
+            return toCompatible(src);
+        } catch (IOException ex) {
+            System.out.println("Atlas page load error: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private static BufferedImage toCompatible(BufferedImage src) {
+        if (GraphicsEnvironment.isHeadless()) return src;
+        GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        BufferedImage dst = gc.createCompatibleImage(src.getWidth(), src.getHeight(), src.getTransparency());
+        Graphics2D g = dst.createGraphics();
+        g.drawImage(src, 0, 0, null);
+        g.dispose();
+        return dst;
+    }
+
+    private static String pageName(int size, int page) {
+        return size + "-" + page + ".png";
+    }
+
+    /**
+     * Packs the face of every card in {@code catalog} into pages at each of
+     * {@code sizes} and writes them with the index to {@code dir}. Each face
+     * is decoded once; only the current page of each size is kept in memory.
+     * Returns the number of faces packed.
+     */
+    static int build(CardCatalog catalog, Path dir, int[] sizes) throws IOException {
+        Files.createDirectories(dir);
+        int perPage = COLUMNS * ROWS;
+        BufferedImage[] pages = new BufferedImage[sizes.length];
+        StringBuilder index = new StringBuilder();
+        int n = 0;
+        for (String key : catalog.cards()) {
+            String ref = catalog.imageRef(key);
+            if (ref == null) continue;
+            BufferedImage src;
+            try (InputStream in = catalog.openImage(ref)) {
+                src = ImageIO.read(in);
+            } catch (NoSuchFileException ex) {
+                continue;
+            }
+            if (src == null) {
+                System.out.println("Skipping " + key + ": unsupported image format");
+                continue;
+            }
+            int page = n / perPage, col = n % COLUMNS, row = (n % perPage) / COLUMNS;
+            if (n % perPage == 0) {
+                writePages(dir, sizes, pages, page - 1);
+                int used = Math.min(perPage, catalog.cards().length - n);
+                int pageRows = Math.max(1, (used + COLUMNS - 1) / COLUMNS);
+                for (int i = 0; i < sizes.length; i++) {
+                    pages[i] = new BufferedImage(COLUMNS * sizes[i], pageRows * sizes[i], BufferedImage.TYPE_INT_ARGB);
+                }
+            }
+            for (int i = 0; i < sizes.length; i++) {
+                int s = sizes[i];
+                Graphics2D g = pages[i].createGraphics();
+                g.drawImage(CardImageService.scale(src, s, s), col * s, row * s, null);
+                g.dispose();
+            }
+            index.append(page).append(' ').append(col).append(' ').append(row).append(' ').append(key).append('\n');
+            n++;
+        }
+        writePages(dir, sizes, pages, (n - 1) / perPage);
+
+        try (BufferedWriter w = Files.newBufferedWriter(dir.resolve(INDEX), StandardCharsets.UTF_8)) {
+            w.write("# Card atlas: page column row key\n");
+            w.write("sizes=" + Arrays.toString(sizes).replaceAll("[\\[\\] ]", "") + "\n");
+            w.write("columns=" + COLUMNS + "\n");
+            w.write("rows=" + ROWS + "\n");
+            w.write(index.toString());
+        }
+        return n;
+    }
+
+    private static void writePages(Path dir, int[] sizes, BufferedImage[] pages, int page) throws IOException {
+        if (page < 0 || pages[0] == null) return;
+        for (int i = 0; i < sizes.length; i++) {
+            try (OutputStream out = Files.newOutputStream(dir.resolve(pageName(sizes[i], page)))) {
+                ImageIO.write(pages[i], "png", out);
+            }
+        }
+    }
+
+    /**
+     * {@code java memorygame.CardAtlas build [pack] [sizes]} packs the faces of a content
+     * pack, or of the built-in cards, into the catalog's atlas directory.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || !args[0].equals("build")) {
+            System.out.println("Usage: java memorygame.CardAtlas build [pack.zip|packDir] [64,128,256]");
+            return;
+        }
+        int[] sizes = args.length > 2
+                ? Arrays.stream(args[2].split(",")).map(String::trim).mapToInt(Integer::parseInt).sorted().toArray()
+                : DEFAULT_SIZES;
+        long start = System.nanoTime();
+        if (args.length > 1) {
+            ContentPack pack = ContentPack.open(Paths.get(args[1]));
+            int n = build(pack, pack.atlasDir(), sizes);
+            pack.close();
+            System.out.printf("Packed %d faces into %s in %.0f ms%n", n, args[1], (System.nanoTime() - start) / 1e6);
+        } else {
+            BuiltInCatalog catalog = new BuiltInCatalog(Paths.get(MemoryGame.CARD_IMAGE_DIR));
+            int n = build(catalog, catalog.atlasDir(), sizes);
+            System.out.printf("Packed %d faces into %s in %.0f ms%n", n, catalog.atlasDir(), (System.nanoTime() - start) / 1e6);
+        }
+    }
+}
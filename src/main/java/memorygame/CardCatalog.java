@@ -0,0 +1,36 @@
+package memorygame;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Source of the cards the game is played with: which cards each level uses,
+ * their descriptions and their face images. Implementations load lazily, so
+ * the cost of a catalog depends on the levels actually played.
+ */
+interface CardCatalog {
+
+    /** Level table matching this catalog; {@code rules().pairs(n)} equals {@code level(n).length}. */
+    GameRules rules();
+
+    /** Card keys of a 1-based level, in card-id order. */
+    String[] level(int level);
+
+    /**
+     * Every distinct card key, which endless levels draw from. Its length
+     * caps the board size of {@code rules().endless}.
+     */
+    String[] cards();
+
+    /** Description shown when the card is matched, or {@code null} for none. */
+    String description(String key);
+
+    /** Reference to the card's face image for {@link #openImage}, or {@code null} if it has none. */
+    String imageRef(String key);
+
+    InputStream openImage(String ref) throws IOException;
+
+    /** Where this catalog's {@link CardAtlas} is built and looked for. */
+    Path atlasDir();
+}
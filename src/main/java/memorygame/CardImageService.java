@@ -0,0 +1,223 @@
+package memorygame;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * Decodes and scales card face images on a background pool. Each
+ * (path, size) pair is loaded once and shared by every card that shows it,
+ * so rebuilding a board costs no disk I/O once the images are warm.
+ * Scaled variants are kept in a {@link MemoryCache} bounded by their pixel
+ * memory; a board that changes size asks for new variants and the old ones
+ * age out.
+ */
+final class CardImageService {
+
+    /** Opens the encoded image behind a path or catalog reference. */
+    interface Source {
+        InputStream open(String path) throws IOException;
+    }
+
+    static final long DEFAULT_MAX_BYTES = 48L << 20;
+    private static final int SIZE_STEP = 16;
+    private static final int MIN_SIZE = 32;
+    private static final int MAX_SIZE = 512;
+
+    private final MemoryCache<String, BufferedImage> cache;
+    private final ConcurrentHashMap<String, CompletableFuture<BufferedImage>> loading = new ConcurrentHashMap<>();
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+    // Sizes requested per path; may list variants that have since been evicted.
+    private final ConcurrentHashMap<String, Set<Integer>> sizesByPath = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor;
+    private final Source source;
+
+    /** Service that reads images from the file system. */
+    CardImageService() {
+        this(path -> Files.newInputStream(Paths.get(path)));
+    }
+
+    CardImageService(Source source) {
+        this(source, DEFAULT_MAX_BYTES);
+    }
+
+    CardImageService(Source source, long maxBytes) {
+        this.source = source;
+        this.cache = new MemoryCache<>("Card image", maxBytes, CardImageService::bytes);
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "card-image-loader");
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+    }
+
+    /**
+     * Size to request for a face shown in {@code pixels} device pixels,
+     * rounded up to a step so small layout changes reuse the same variant.
+     */
+    static int sizeFor(int pixels) {
+        int s = (pixels + SIZE_STEP - 1) / SIZE_STEP * SIZE_STEP;
+        return Math.max(MIN_SIZE, Math.min(MAX_SIZE, s));
+    }
+
+    /**
+     * Returns a future for the face at {@code path} scaled to {@code size}
+     * pixels square. The future completes with {@code null} when the file is
+     * missing or cannot be decoded, and that outcome is cached as well. It
+     * also completes with {@code null} if loading throws, but that is not
+     * cached, so a later request tries again.
+     */
+    CompletableFuture<BufferedImage> request(String path, int size) {
+        String key = key(path, size);
+        CompletableFuture<BufferedImage> pending = loading.get(key);
+        if (pending != null) return pending;
+        if (failed.contains(key)) return CompletableFuture.completedFuture(null);
+        BufferedImage cached = cache.get(key);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+        return loading.computeIfAbsent(key, k -> {
+            sizesByPath.computeIfAbsent(path, p -> ConcurrentHashMap.newKeySet()).add(size);
+            CompletableFuture<BufferedImage> f = new CompletableFuture<>();
+            executor.execute(() -> {
+                BufferedImage img = null;
+                try {
+                    img = load(path, size);
+                    if (img != null) cache.put(key, img);
+                    else failed.add(key);
+                } catch (RuntimeException | OutOfMemoryError ex) {
+                    System.out.println("Image load error: " + path + ": " + ex);
+                } finally {
+                    loading.remove(key);
+                    f.complete(img);
+                }
+            });
+            return f;
+        });
+    }
+
+    /**
+     * Returns the image if it is loaded and still cached, otherwise
+     * {@code null}. Called while painting, so it leaves the cache counters to
+     * {@link #request}.
+     */
+    BufferedImage getIfReady(String path, int size) {
+        return cache.peek(key(path, size));
+    }
+
+    /**
+     * Returns a loaded variant of {@code path} to draw while {@code size} is
+     * being prepared: the smallest one at least that big, else the largest
+     * smaller one. Returns {@code null} if none is loaded.
+     */
+    BufferedImage getClosestReady(String path, int size) {
+        BufferedImage exact = getIfReady(path, size);
+        if (exact != null) return exact;
+        Set<Integer> requested = sizesByPath.get(path);
+        if (requested == null) return null;
+        TreeSet<Integer> s = new TreeSet<>(requested);
+        int[] candidates = Stream.concat(s.tailSet(size, false).stream(), s.headSet(size, false).descendingSet().stream())
+                .mapToInt(Integer::intValue).toArray();
+        for (int c : candidates) {
+            BufferedImage img = getIfReady(path, c);
+            if (img != null) return img;
+            if (!loading.containsKey(key(path, c))) requested.remove(c);
+        }
+        return null;
+    }
+
+    /**
+     * An icon that covers {@code side} user-space pixels and draws {@code img}
+     * into them. The image is a device-pixel variant, so on a scaled display
+     * it maps onto the screen pixels instead of being shown at its own size.
+     */
+    static Icon icon(BufferedImage img, int side) {
+        return new Icon() {
+            @Override
+            public void paintIcon(Component c, Graphics g, int x, int y) {
+                Graphics2D g2 = (Graphics2D) g.create();
+                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2.drawImage(img, x, y, side, side, null);
+                g2.dispose();
+            }
+
+            @Override
+            public int getIconWidth() { return side; }
+
+            @Override
+            public int getIconHeight() { return side; }
+        };
+    }
+
+    MemoryCache<String, BufferedImage> cache() {
+        return cache;
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Heap held by a decoded image, assuming 4 bytes per pixel. */
+    static long bytes(BufferedImage img) {
+        return 4L * img.getWidth() * img.getHeight();
+    }
+
+    private static String key(String path, int size) {
+        return size + ":" + path;
+    }
+
+    private BufferedImage load(String path, int size) {
+        try (InputStream in = source.open(path)) {
+            BufferedImage src = ImageIO.read(in);
+            if (src == null) {
+                System.out.println("Unsupported image format: " + path);
+                return null;
+            }
+            return scale(src, size, size);
+        } catch (NoSuchFileException ex) {
+            System.out.println("Image file not found: " + path);
+            return null;
+        } catch (IOException ex) {
+            System.out.println("Image load error: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Scales with bilinear steps that at most halve the image each time.
+     * A single bilinear step from a large photo skips most source pixels and
+     * aliases; halving first averages them, at a fraction of the cost of
+     * area-averaging scaling.
+     */
+    static BufferedImage scale(BufferedImage src, int w, int h) {
+        BufferedImage current = src;
+        int cw = src.getWidth(), ch = src.getHeight();
+        while (cw / 2 >= w || ch / 2 >= h) {
+            cw = Math.max(w, cw / 2);
+            ch = Math.max(h, ch / 2);
+            current = step(current, cw, ch);
+        }
+        return cw == w && ch == h && current != src ? current : step(current, w, h);
+    }
+
+    private static BufferedImage step(BufferedImage src, int w, int h) {
+        BufferedImage dst = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = dst.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(src, 0, 0, w, h, null);
+        g.dispose();
+        return dst;
+    }
+}
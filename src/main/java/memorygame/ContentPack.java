@@ -0,0 +1,266 @@
+package memorygame;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Card catalog read from a content pack: a zip archive, or a directory with
+ * the same layout. The zip is opened as an NIO {@link FileSystem}, so only
+ * its central directory, the small index and the card list are read up
+ * front. Descriptions and images are read when first needed.
+ *
+ * <pre>
+ *   pack.properties        name, and comma lists pairs / lives / timeLimits per level
+ *   levels/1.txt ...       one card key per line
+ *   cards.txt              every card for endless mode (optional, defaults to all level cards)
+ *   cards/&lt;key&gt;.txt       description (optional)
+ *   cards/&lt;key&gt;.png|.jpg  face image (optional)
+ *   atlas/                 faces packed by {@link CardAtlas} (optional)
+ * </pre>
+ *
+ * Card keys are mapped to file names by replacing characters that are not
+ * allowed in file names with {@code _}.
+ */
+final class ContentPack implements CardCatalog {
+
+    static final String INDEX = "pack.properties";
+    private static final String[] IMAGE_EXTENSIONS = {".png", ".jpg", ".jpeg"};
+
+    private final Path root;
+    private final FileSystem zip;
+    private final String name;
+    private final GameRules rules;
+    private final String[] cards;
+    private final Map<Integer, String[]> levels = new ConcurrentHashMap<>();
+    private final Map<String, String> descriptions = new ConcurrentHashMap<>();
+    private final Map<String, String> imageRefs = new ConcurrentHashMap<>();
+
+    private ContentPack(Path root, FileSystem zip) throws IOException {
+        this.root = root;
+        this.zip = zip;
+        Properties index = new Properties();
+        try (Reader r = Files.newBufferedReader(root.resolve(INDEX), StandardCharsets.UTF_8)) {
+            index.load(r);
+        }
+        name = index.getProperty("name", "Content pack");
+        int[] pairs = intList(index, "pairs", null);
+        if (pairs.length == 0) throw new IOException(INDEX + " lists no levels");
+        int[] lives = intList(index, "lives", pairs);
+        int[] timeLimits = intList(index, "timeLimits", new int[pairs.length]);
+        GameRules d = GameRules.DEFAULT;
+        GameRules fixed = new GameRules(pairs, lives, timeLimits, d.basePoints, d.timeBonusPerSecond,
+                d.comboStep, d.maxComboMultiplier);
+        cards = readCards(fixed);
+        rules = fixed.withEndless(d.endless.withMaxPairs(cards.length));
+    }
+
+    /** Opens a pack from a {@code .zip} file or an unpacked directory. */
+    static ContentPack open(Path path) throws IOException {
+        if (Files.isDirectory(path)) return new ContentPack(path, null);
+        FileSystem fs = FileSystems.newFileSystem(path, (ClassLoader) null);
+        try {
+            return new ContentPack(fs.getPath("/"), fs);
+        } catch (IOException | RuntimeException ex) {
+            fs.close();
+            throw ex;
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    @Override
+    public GameRules rules() {
+        return rules;
+    }
+
+    @Override
+    public String[] level(int level) {
+        return levels.computeIfAbsent(level, this::readLevel);
+    }
+
+    @Override
+    public String[] cards() {
+        return cards;
+    }
+
+    @Override
+    public String description(String key) {
+        String d = descriptions.computeIfAbsent(key, k -> {
+            try {
+                return new String(Files.readAllBytes(root.resolve("cards").resolve(fileName(k) + ".txt")),
+                        StandardCharsets.UTF_8).trim();
+            } catch (NoSuchFileException ex) {
+                return "";
+            } catch (IOException ex) {
+                System.out.println("Error reading description of " + k + ": " + ex.getMessage());
+                return "";
+            }
+        });
+        return d.isEmpty() ? null : d;
+    }
+
+    @Override
+    public String imageRef(String key) {
+        String ref = imageRefs.computeIfAbsent(key, k -> {
+            Path cards = root.resolve("cards");
+            for (String ext : IMAGE_EXTENSIONS) {
+                Path p = cards.resolve(fileName(k) + ext);
+                if (Files.exists(p)) return root.relativize(p).toString();
+            }
+            return "";
+        });
+        return ref.isEmpty() ? null : ref;
+    }
+
+    @Override
+    public InputStream openImage(String ref) throws IOException {
+        return Files.newInputStream(root.resolve(ref));
+    }
+
+    @Override
+    public Path atlasDir() {
+        return root.resolve("atlas");
+    }
+
+    void close() throws IOException {
+        if (zip != null) zip.close();
+    }
+
+    private String[] readLevel(int level) {
+        return readLevel(level, rules);
+    }
+
+    private String[] readLevel(int level, GameRules rules) {
+        if (level < 1 || level > rules.levelCount()) throw new IllegalArgumentException("No level " + level);
+        List<String> keys;
+        try {
+            keys = readKeys(root.resolve("levels").resolve(level + ".txt"));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot read level " + level + " of " + name + ": " + ex.getMessage(), ex);
+        }
+        if (keys.size() != rules.pairs(level)) {
+            throw new IllegalStateException("Level " + level + " of " + name + " lists " + keys.size()
+                    + " cards but " + INDEX + " says " + rules.pairs(level));
+        }
+        return keys.toArray(new String[0]);
+    }
+
+    private String[] readCards(GameRules fixed) throws IOException {
+        Set<String> keys = new LinkedHashSet<>();
+        try {
+            keys.addAll(readKeys(root.resolve("cards.txt")));
+        } catch (NoSuchFileException ex) {
+            for (int level = 1; level <= fixed.levelCount(); level++) {
+                String[] l = readLevel(level, fixed);
+                levels.put(level, l);
+                keys.addAll(Arrays.asList(l));
+            }
+        }
+        if (keys.isEmpty()) throw new IOException(name + " has no cards");
+        return keys.toArray(new String[0]);
+    }
+
+    private static List<String> readKeys(Path file) throws IOException {
+        List<String> keys = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String key = line.trim();
+            if (!key.isEmpty() && !key.startsWith("#")) keys.add(key);
+        }
+        return keys;
+    }
+
+    private static int[] intList(Properties p, String key, int[] fallback) throws IOException {
+        String v = p.getProperty(key);
+        if (v == null || v.trim().isEmpty()) {
+            if (fallback == null) throw new IOException(INDEX + " is missing " + key);
+            return fallback;
+        }
+        try {
+            return Arrays.stream(v.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        } catch (NumberFormatException ex) {
+            throw new IOException(INDEX + ": bad " + key + " list: " + v);
+        }
+    }
+
+    static String fileName(String key) {
+        return key.replaceAll("[\\\\/:*?\"<>|]", "_");
+    }
+
+    /**
+     * Writes {@code catalog} as a zip content pack, e.g. to turn the built-in
+     * cards into a pack that can be extended.
+     */
+    static void export(CardCatalog catalog, String packName, Path zipFile) throws IOException {
+        Files.deleteIfExists(zipFile);
+        URI uri = URI.create("jar:" + zipFile.toAbsolutePath().toUri());
+        try (FileSystem fs = FileSystems.newFileSystem(uri, Collections.singletonMap("create", "true"))) {
+            GameRules rules = catalog.rules();
+            StringBuilder pairs = new StringBuilder(), lives = new StringBuilder(), times = new StringBuilder();
+            Files.createDirectories(fs.getPath("/levels"));
+            Files.createDirectories(fs.getPath("/cards"));
+            for (int level = 1; level <= rules.levelCount(); level++) {
+                String sep = level > 1 ? "," : "";
+                pairs.append(sep).append(rules.pairs(level));
+                lives.append(sep).append(rules.lives(level));
+                times.append(sep).append(rules.timeLimitSeconds(level));
+                Files.write(fs.getPath("/levels", level + ".txt"), Arrays.asList(catalog.level(level)),
+                        StandardCharsets.UTF_8);
+            }
+            Files.write(fs.getPath("/cards.txt"), Arrays.asList(catalog.cards()), StandardCharsets.UTF_8);
+            for (String key : catalog.cards()) {
+                String desc = catalog.description(key);
+                if (desc != null) {
+                    Files.write(fs.getPath("/cards", fileName(key) + ".txt"), desc.getBytes(StandardCharsets.UTF_8));
+                }
+                String ref = catalog.imageRef(key);
+                if (ref == null) continue;
+                String ext = ref.substring(Math.max(0, ref.lastIndexOf('.'))).toLowerCase();
+                try (InputStream in = catalog.openImage(ref)) {
+                    Files.copy(in, fs.getPath("/cards", fileName(key) + ext));
+                } catch (NoSuchFileException ex) {
+                    // No image for this card; it will be drawn as text.
+                }
+            }
+            try (BufferedWriter w = Files.newBufferedWriter(fs.getPath("/" + INDEX), StandardCharsets.UTF_8)) {
+                w.write("name=" + packName + "\n");
+                w.write("pairs=" + pairs + "\n");
+                w.write("lives=" + lives + "\n");
+                w.write("timeLimits=" + times + "\n");
+            }
+        }
+    }
+
+    /** {@code java memorygame.ContentPack export <pack.zip> [imageDir]} writes the built-in cards as a pack. */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || !args[0].equals("export")) {
+            System.out.println("Usage: java memorygame.ContentPack export <pack.zip> [imageDir]");
+            return;
+        }
+        Path imageDir = Paths.get(args.length > 2 ? args[2] : MemoryGame.CARD_IMAGE_DIR);
+        export(new BuiltInCatalog(imageDir), "DWCC", Paths.get(args[1]));
+        ContentPack pack = open(Paths.get(args[1]));
+        System.out.println("Wrote " + args[1] + ": " + pack.rules().levelCount() + " levels");
+        pack.close();
+    }
+}
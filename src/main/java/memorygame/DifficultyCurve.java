@@ -0,0 +1,67 @@
+package memorygame;
+
+/**
+ * Level table for endless mode. Board size grows geometrically per level,
+ * while lives and seconds per pair fall from generous to tight along an
+ * exponential curve, so early levels play like the fixed game and late
+ * levels converge on a steady, hard ratio. Instances are immutable.
+ */
+final class DifficultyCurve {
+
+    static final DifficultyCurve DEFAULT = new DifficultyCurve(4, 1.25, 256, 1.25, 0.5, 10.0, 3.0, 8.0);
+
+    final int startPairs;
+    final double pairGrowth;
+    final int maxPairs;
+    final double startLivesPerPair;
+    final double endLivesPerPair;
+    final double startSecondsPerPair;
+    final double endSecondsPerPair;
+    /** Levels over which the easy-to-hard blend covers about 63% of its range. */
+    final double rampLevels;
+
+    DifficultyCurve(int startPairs, double pairGrowth, int maxPairs,
+                    double startLivesPerPair, double endLivesPerPair,
+                    double startSecondsPerPair, double endSecondsPerPair, double rampLevels) {
+        if (startPairs < 1 || maxPairs < startPairs || pairGrowth < 1 || rampLevels <= 0) {
+            throw new IllegalArgumentException("Bad difficulty curve");
+        }
+        this.startPairs = startPairs;
+        this.pairGrowth = pairGrowth;
+        this.maxPairs = maxPairs;
+        this.startLivesPerPair = startLivesPerPair;
+        this.endLivesPerPair = endLivesPerPair;
+        this.startSecondsPerPair = startSecondsPerPair;
+        this.endSecondsPerPair = endSecondsPerPair;
+        this.rampLevels = rampLevels;
+    }
+
+    /** Blend from 0 at level 1 towards 1 at high levels. */
+    double difficulty(int level) {
+        return 1 - Math.exp(-(level - 1) / rampLevels);
+    }
+
+    int pairs(int level) {
+        double p = startPairs * Math.pow(pairGrowth, level - 1);
+        return (int) Math.min(maxPairs, Math.round(p));
+    }
+
+    int lives(int level) {
+        return Math.max(1, (int) Math.ceil(pairs(level) * blend(startLivesPerPair, endLivesPerPair, level)));
+    }
+
+    int timeLimitSeconds(int level) {
+        return (int) Math.ceil(pairs(level) * blend(startSecondsPerPair, endSecondsPerPair, level));
+    }
+
+    /** The same curve with board size capped at {@code limit} as well, e.g. the number of cards available. */
+    DifficultyCurve withMaxPairs(int limit) {
+        int max = Math.min(maxPairs, limit);
+        return new DifficultyCurve(Math.min(startPairs, max), pairGrowth, max,
+                startLivesPerPair, endLivesPerPair, startSecondsPerPair, endSecondsPerPair, rampLevels);
+    }
+
+    private double blend(double start, double end, int level) {
+        return start + (end - start) * difficulty(level);
+    }
+}
@@ -0,0 +1,132 @@
+package memorygame;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Batch tool that sweeps lives, time limits and combo scoring per level over
+ * simulated player models and writes win rates and score histograms. Each
+ * grid point is simulated in parallel by {@link MemorySolver} and reduced
+ * into fixed-size counters. Results are streamed to CSV as they finish, so
+ * memory use does not grow with the size of the sweep.
+ *
+ * <pre>
+ *   java memorygame.DifficultyTuner                 # 5000 games per grid point
+ *   java memorygame.DifficultyTuner 50000 out/      # more games, custom output folder
+ * </pre>
+ */
+public class DifficultyTuner {
+
+    private static final double[] LIVES_PER_PAIR = {0.5, 0.75, 1.0, 1.5, 2.0, 2.5};
+    private static final int[] TIME_LIMITS_SECONDS = {0, 30, 45, 60, 90, 120, 180};
+    private static final double[][] COMBO_SCORING = {{0.1, 2.0}, {0.2, 3.0}, {0.3, 4.0}};
+    private static final double TARGET_WIN_RATE = 0.75;
+
+    /** A simulated kind of player: how it remembers cards and how fast it plays. */
+    private static final class PlayerModel {
+        final String name;
+        final MemorySolver.Strategy strategy;
+        final double forgetRate;
+        final double secondsPerTurn;
+
+        PlayerModel(String name, MemorySolver.Strategy strategy, double forgetRate, double secondsPerTurn) {
+            this.name = name;
+            this.strategy = strategy;
+            this.forgetRate = forgetRate;
+            this.secondsPerTurn = secondsPerTurn;
+        }
+    }
+
+    private static final PlayerModel[] MODELS = {
+            new PlayerModel("casual", MemorySolver.Strategy.DECAY, 0.3, 3.0),
+            new PlayerModel("average", MemorySolver.Strategy.DECAY, 0.1, 2.0),
+            new PlayerModel("expert", MemorySolver.Strategy.PERFECT, 0, 1.2),
+    };
+
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        Path dir = Paths.get(args.length > 1 ? args[1] : ".");
+        Files.createDirectories(dir);
+        GameRules base = GameRules.DEFAULT;
+
+        long start = System.nanoTime();
+        int points = 0;
+        try (BufferedWriter summary = Files.newBufferedWriter(dir.resolve("tuning_summary.csv"), StandardCharsets.UTF_8);
+             BufferedWriter histograms = Files.newBufferedWriter(dir.resolve("tuning_histograms.csv"), StandardCharsets.UTF_8)) {
+            summary.write("level,model,pairs,lives,time_limit,combo_step,max_combo,games,win_rate,mean_attempts,mean_score");
+            summary.newLine();
+            histograms.write("level,model,lives,time_limit,combo_step,max_combo,score_from,score_to,games");
+            histograms.newLine();
+
+            for (int level = 1; level <= base.levelCount(); level++) {
+                int pairs = base.pairs(level);
+                int[] lives = livesGrid(pairs);
+                String best = "";
+                double bestGap = Double.MAX_VALUE;
+
+                for (PlayerModel model : MODELS) {
+                    for (int l : lives) {
+                        for (int t : TIME_LIMITS_SECONDS) {
+                            for (double[] combo : COMBO_SCORING) {
+                                GameRules rules = base.withLives(level, l).withTimeLimit(level, t)
+                                        .withScoring(base.basePoints, base.timeBonusPerSecond, combo[0], combo[1]);
+                                int binWidth = scoreBinWidth(rules, level);
+                                MemorySolver solver = new MemorySolver(model.strategy, model.forgetRate,
+                                        rules, model.secondsPerTurn, binWidth);
+                                MemorySolver.Stats s = solver.simulate(level, SplitMix64.mix(level), games);
+                                points++;
+
+                                String key = String.format(Locale.ROOT, "%d,%s,%d,%d,%.1f,%.1f",
+                                        level, model.name, l, t, combo[0], combo[1]);
+                                summary.write(String.format(Locale.ROOT, "%d,%s,%d,%d,%d,%.1f,%.1f,%d,%.4f,%.2f,%.1f",
+                                        level, model.name, pairs, l, t, combo[0], combo[1], s.games,
+                                        s.winRate(), s.meanAttempts(), s.meanScore()));
+                                summary.newLine();
+                                for (int b = 0; b < MemorySolver.SCORE_BINS; b++) {
+                                    if (s.scoreBins[b] == 0) continue;
+                                    histograms.write(key + "," + b * binWidth + ","
+                                            + (b == MemorySolver.SCORE_BINS - 1 ? "" : String.valueOf((b + 1) * binWidth))
+                                            + "," + s.scoreBins[b]);
+                                    histograms.newLine();
+                                }
+
+                                double gap = Math.abs(s.winRate() - TARGET_WIN_RATE);
+                                if (model.name.equals("average") && combo == COMBO_SCORING[1] && gap < bestGap) {
+                                    bestGap = gap;
+                                    best = String.format(Locale.ROOT, "lives %d, time %s (average player wins %.0f%%)",
+                                            l, t == 0 ? "none" : t + "s", s.winRate() * 100);
+                                }
+                            }
+                        }
+                    }
+                }
+                System.out.println("Level " + level + " (" + pairs + " pairs): closest to "
+                        + Math.round(TARGET_WIN_RATE * 100) + "% -> " + best);
+            }
+        }
+        System.out.printf(Locale.ROOT, "%d grid points x %d games in %.1f s, results in %s%n",
+                points, games, (System.nanoTime() - start) / 1e9, dir.toAbsolutePath());
+    }
+
+    private static int[] livesGrid(int pairs) {
+        return Arrays.stream(LIVES_PER_PAIR)
+                .mapToInt(f -> Math.max(1, (int) Math.round(pairs * f)))
+                .distinct()
+                .toArray();
+    }
+
+    /** Bin width so the best possible score for the level lands in the last bin. */
+    private static int scoreBinWidth(GameRules rules, int level) {
+        int best = 0;
+        for (int streak = 1; streak <= rules.pairs(level); streak++) {
+            best += rules.matchPoints(rules.timeLimitSeconds(level), streak);
+        }
+        return Math.max(1, (best + MemorySolver.SCORE_BINS - 1) / MemorySolver.SCORE_BINS);
+    }
+}
@@ -0,0 +1,67 @@
+package memorygame;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Monotonic game clock with pause and resume. Elapsed time is accumulated
+ * from a nanosecond time source rather than counted in timer ticks, so it
+ * does not drift when the EDT is busy or a timer is stopped and restarted.
+ * The time source is injectable for replays and simulations.
+ */
+final class GameClock {
+
+    private final LongSupplier nanoTime;
+    private long accumulatedNanos;
+    private long resumedAt;
+    private boolean running;
+
+    GameClock() {
+        this(System::nanoTime);
+    }
+
+    GameClock(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    /** Stops the clock and sets the elapsed time back to zero. */
+    void reset() {
+        accumulatedNanos = 0;
+        running = false;
+    }
+
+    /** Resets the clock and starts it running. */
+    void start() {
+        reset();
+        resume();
+    }
+
+    /** Stops the clock with {@code elapsedNanos} already on it, as when resuming a saved game. */
+    void restore(long elapsedNanos) {
+        accumulatedNanos = elapsedNanos;
+        running = false;
+    }
+
+    void pause() {
+        if (!running) return;
+        accumulatedNanos += nanoTime.getAsLong() - resumedAt;
+        running = false;
+    }
+
+    void resume() {
+        if (running) return;
+        resumedAt = nanoTime.getAsLong();
+        running = true;
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    long elapsedNanos() {
+        return running ? accumulatedNanos + (nanoTime.getAsLong() - resumedAt) : accumulatedNanos;
+    }
+
+    long elapsedMillis() {
+        return elapsedNanos() / 1_000_000L;
+    }
+}
@@ -0,0 +1,253 @@
+package memorygame;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every game as a compact binary event log, one file per game, so a
+ * disputed score can be audited by {@link GameReplayer}. Events are encoded
+ * as varints into an in-memory batch on the calling (EDT) thread; a
+ * background thread writes the batch out every second and when a game ends.
+ *
+ * <p>File layout: magic {@code DWGR}, a version byte, the 8-byte game seed,
+ * the endless-mode board size cap as a varint (version 2), the level table
+ * as a level count followed by pairs, lives and time limit per level, all
+ * varints (version 3, so games played with a content pack replay against
+ * its table), then events of the form {@code type, deltaMillis, payload...},
+ * all varints.
+ * {@code deltaMillis} is game-clock time since the previous event of the
+ * same level, so pauses do not appear and replays score identically.
+ */
+final class GameRecorder {
+
+    static final int MAGIC = 0x44574752; // "DWGR"
+    static final int VERSION = 3;
+
+    static final int MODE_TRAINING = 1;
+    static final int MODE_ENDLESS = 2;
+
+    /** Payload: level, restarts, MODE_* bits, pairs (version 2). */
+    static final int EVENT_LEVEL_START = 1;
+    /** Payload: card index, FLIP_* result. */
+    static final int EVENT_FLIP = 2;
+    /** No payload: the pending mismatch was turned face down. */
+    static final int EVENT_HIDE = 3;
+    /** No payload: the level's time limit ran out. */
+    static final int EVENT_TIME_UP = 4;
+    /** Payload: final score. */
+    static final int EVENT_GAME_END = 5;
+
+    static final String FILE_SUFFIX = ".dwgr";
+
+    private static final long FLUSH_INTERVAL_MS = 1000;
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final Path dir;
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "game-recorder");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Guarded by this. Events go into the batch for batchFile; when a new game
+    // starts, the unwritten batch of the previous file is queued in finished.
+    private byte[] batch = new byte[4096];
+    private int batchLength;
+    private Path batchFile;
+    private final ArrayDeque<Object[]> finished = new ArrayDeque<>();
+
+    // Only touched by the writer thread.
+    private OutputStream out;
+    private Path outFile;
+
+    private int gameNumber = -1;
+    private boolean recording;
+    private long lastEventMillis;
+
+    GameRecorder(Path dir) {
+        this.dir = dir;
+        writer.scheduleWithFixedDelay(this::writeBatch, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Call after every engine level start; opens a new file when a new game
+     * has begun. A game resumed part way through cannot be replayed from its
+     * start, so it is not recorded.
+     */
+    synchronized void levelStarted(MemoryEngine engine) {
+        if (engine.gameNumber() != gameNumber) {
+            gameNumber = engine.gameNumber();
+            finishFile();
+            recording = engine.level() == 1 && engine.restarts() == 0 && engine.score() == 0;
+            if (recording) startFile(engine.gameSeed(), engine.rules());
+        }
+        if (!recording) return;
+        lastEventMillis = 0;
+        event(engine, EVENT_LEVEL_START);
+        putVarint(engine.level());
+        putVarint(engine.restarts());
+        putVarint((engine.isTrainingMode() ? MODE_TRAINING : 0) | (engine.isEndless() ? MODE_ENDLESS : 0));
+        putVarint(engine.pairs());
+    }
+
+    synchronized void flip(MemoryEngine engine, int index, int result) {
+        if (!isRecording(engine)) return;
+        event(EVENT_FLIP, engine.lastFlipMillis());
+        putVarint(index);
+        putVarint(result);
+    }
+
+    synchronized void hide(MemoryEngine engine) {
+        if (!isRecording(engine)) return;
+        event(engine, EVENT_HIDE);
+    }
+
+    synchronized void timeUp(MemoryEngine engine) {
+        if (!isRecording(engine)) return;
+        event(engine, EVENT_TIME_UP);
+    }
+
+    void gameEnded(MemoryEngine engine) {
+        synchronized (this) {
+            if (!isRecording(engine)) return;
+            event(engine, EVENT_GAME_END);
+            putVarint(engine.score());
+        }
+        writer.execute(this::writeBatch);
+    }
+
+    /** Writes out everything recorded so far and closes the current file. */
+    void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        writeBatch();
+        closeFile();
+    }
+
+    private boolean isRecording(MemoryEngine engine) {
+        return recording && engine.gameNumber() == gameNumber;
+    }
+
+    private void finishFile() {
+        if (batchFile != null && batchLength > 0) finished.add(new Object[] {batchFile, takeBatch()});
+        batchLength = 0;
+        batchFile = null;
+    }
+
+    private void startFile(long seed, GameRules rules) {
+        String name = "game-" + LocalDateTime.now().format(NAME_FORMAT) + "-" + BoardGenerator.format(seed) + FILE_SUFFIX;
+        batchFile = dir.resolve(name);
+        putInt(MAGIC);
+        putByte(VERSION);
+        putInt((int) (seed >>> 32));
+        putInt((int) seed);
+        putVarint(rules.endless.maxPairs);
+        putVarint(rules.levelCount());
+        for (int level = 1; level <= rules.levelCount(); level++) {
+            putVarint(rules.pairs(level));
+            putVarint(rules.lives(level));
+            putVarint(rules.timeLimitSeconds(level));
+        }
+    }
+
+    private void event(MemoryEngine engine, int type) {
+        event(type, engine.clock().elapsedMillis());
+    }
+
+    private void event(int type, long now) {
+        putVarint(type);
+        putVarint((int) Math.max(0, now - lastEventMillis));
+        lastEventMillis = now;
+    }
+
+    private void putVarint(int value) {
+        ensure(5);
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            batch[batchLength++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        batch[batchLength++] = (byte) v;
+    }
+
+    private void putInt(int value) {
+        ensure(4);
+        batch[batchLength++] = (byte) (value >>> 24);
+        batch[batchLength++] = (byte) (value >>> 16);
+        batch[batchLength++] = (byte) (value >>> 8);
+        batch[batchLength++] = (byte) value;
+    }
+
+    private void putByte(int value) {
+        ensure(1);
+        batch[batchLength++] = (byte) value;
+    }
+
+    private void ensure(int extra) {
+        if (batchLength + extra > batch.length) {
+            byte[] grown = new byte[batch.length * 2];
+            System.arraycopy(batch, 0, grown, 0, batchLength);
+            batch = grown;
+        }
+    }
+
+    private byte[] takeBatch() {
+        byte[] data = new byte[batchLength];
+        System.arraycopy(batch, 0, data, 0, batchLength);
+        batchLength = 0;
+        return data;
+    }
+
+    /** Runs on the writer thread (or after it has stopped, from close). */
+    private void writeBatch() {
+        Object[][] segments;
+        synchronized (this) {
+            if (batchFile != null && batchLength > 0) finished.add(new Object[] {batchFile, takeBatch()});
+            if (finished.isEmpty()) return;
+            segments = finished.toArray(new Object[0][]);
+            finished.clear();
+        }
+        for (Object[] segment : segments) {
+            write((Path) segment[0], (byte[]) segment[1]);
+        }
+    }
+
+    private void write(Path file, byte[] data) {
+        try {
+            if (!file.equals(outFile)) {
+                closeFile();
+                Files.createDirectories(dir);
+                out = new BufferedOutputStream(Files.newOutputStream(file), 8192);
+                outFile = file;
+            }
+            out.write(data);
+            out.flush();
+        } catch (IOException ex) {
+            System.out.println("Error writing game recording: " + ex.getMessage());
+        }
+    }
+
+    private void closeFile() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException ex) {
+            System.out.println("Error closing game recording: " + ex.getMessage());
+        }
+        out = null;
+        outFile = null;
+    }
+}
@@ -0,0 +1,228 @@
+package memorygame;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Re-runs games recorded by {@link GameRecorder} through a fresh
+ * {@link MemoryEngine}. Every flip result and the final score are checked
+ * against the recording, so a leaderboard score can be audited. Replays run
+ * as fast as possible, or at real game speed for watching.
+ *
+ * <pre>
+ *   java memorygame.GameReplayer recordings/                 # verify every recording
+ *   java memorygame.GameReplayer --speed=1 recordings/x.dwgr # 1x, printing each event
+ * </pre>
+ */
+public class GameReplayer {
+
+    /** Receives the engine after each replayed event. */
+    interface Listener {
+        void onEvent(int type, MemoryEngine engine);
+    }
+
+    /** A varint longer than five bytes: the recording is corrupt past this point. */
+    static final class MalformedVarintException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        MalformedVarintException() {
+            super("Malformed varint");
+        }
+    }
+
+    static final class Result {
+        final Path file;
+        long seed;
+        int events;
+        int recordedScore = -1;
+        int replayedScore;
+        String divergence;
+
+        Result(Path file) {
+            this.file = file;
+        }
+
+        boolean verified() {
+            return divergence == null && recordedScore >= 0 && recordedScore == replayedScore;
+        }
+
+        @Override
+        public String toString() {
+            String status = divergence != null ? "DIVERGED: " + divergence
+                    : recordedScore < 0 ? "incomplete (no game end)"
+                    : verified() ? "ok" : "score mismatch";
+            return String.format("%s seed %s, %d events, recorded %d, replayed %d: %s",
+                    file.getFileName(), BoardGenerator.format(seed), events, recordedScore, replayedScore, status);
+        }
+    }
+
+    /**
+     * Replays {@code file}. A {@code speed} of 0 runs flat out; 1 reproduces the
+     * original pacing, 2 runs twice as fast, and so on.
+     */
+    static Result replay(Path file, double speed, Listener listener) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        Result result = new Result(file);
+        if (in.remaining() < 13 || in.getInt() != GameRecorder.MAGIC) throw new IOException("Not a game recording: " + file);
+        int version = in.get();
+        if (version < 1 || version > GameRecorder.VERSION) throw new IOException("Unsupported recording version " + version);
+        result.seed = in.getLong();
+
+        GameRules rules;
+        try {
+            rules = readRules(in, version);
+        } catch (BufferUnderflowException | MalformedVarintException | IllegalArgumentException ex) {
+            throw new IOException("Bad recording header: " + file);
+        }
+        long[] now = new long[1];
+        MemoryEngine engine = new MemoryEngine(rules, new GameClock(() -> now[0]));
+        long levelMillis = 0;
+        boolean started = false;
+
+        try {
+            while (in.hasRemaining() && result.divergence == null) {
+                int type = readVarint(in);
+                int delta = readVarint(in);
+                if (speed > 0 && delta > 0) Thread.sleep((long) (delta / speed));
+                levelMillis = type == GameRecorder.EVENT_LEVEL_START ? 0 : levelMillis + delta;
+
+                switch (type) {
+                    case GameRecorder.EVENT_LEVEL_START: {
+                        int level = readVarint(in);
+                        int restarts = readVarint(in);
+                        int mode = readVarint(in);
+                        int pairs = version >= 2 ? readVarint(in) : -1;
+                        engine.setTrainingMode((mode & GameRecorder.MODE_TRAINING) != 0);
+                        engine.setEndless((mode & GameRecorder.MODE_ENDLESS) != 0);
+                        now[0] = 0;
+                        if (!started) engine.newGame(result.seed, level);
+                        else if (level == engine.level()) engine.restartLevel();
+                        else if (level == engine.level() + 1) engine.nextLevel();
+                        else result.divergence = "jump from level " + engine.level() + " to " + level;
+                        started = true;
+                        if (engine.restarts() != restarts) {
+                            result.divergence = "level " + level + " restart count " + engine.restarts() + " != " + restarts;
+                        } else if (pairs >= 0 && engine.pairs() != pairs) {
+                            result.divergence = "level " + level + " has " + engine.pairs() + " pairs, recorded " + pairs
+                                    + " (different level table)";
+                        }
+                        break;
+                    }
+                    case GameRecorder.EVENT_FLIP: {
+                        int index = readVarint(in);
+                        int recorded = readVarint(in);
+                        now[0] = levelMillis * 1_000_000L;
+                        int replayed = engine.flip(index);
+                        if (replayed != recorded) {
+                            result.divergence = "flip " + index + " gave " + replayed + ", recorded " + recorded;
+                        }
+                        break;
+                    }
+                    case GameRecorder.EVENT_HIDE:
+                        engine.hideMismatched();
+                        break;
+                    case GameRecorder.EVENT_TIME_UP:
+                        now[0] = levelMillis * 1_000_000L;
+                        if (!engine.checkTimeUp()) result.divergence = "time-up at " + levelMillis + " ms not reproduced";
+                        break;
+                    case GameRecorder.EVENT_GAME_END:
+                        result.recordedScore = readVarint(in);
+                        break;
+                    default:
+                        throw new IOException("Unknown event type " + type + " at byte " + in.position());
+                }
+                result.events++;
+                if (listener != null) listener.onEvent(type, engine);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (BufferUnderflowException | MalformedVarintException ex) {
+            // Truncated tail of a recording that was still being written. Any
+            // other exception is a replayer or engine bug and must surface.
+            if (result.divergence == null) result.divergence = "truncated after " + result.events + " events";
+        }
+        result.replayedScore = engine.score();
+        return result;
+    }
+
+    /** The rules the game was played under; recordings before version 3 used the built-in level table. */
+    private static GameRules readRules(ByteBuffer in, int version) {
+        GameRules d = GameRules.DEFAULT;
+        if (version < 2) return d;
+        int endlessMaxPairs = readVarint(in);
+        GameRules rules = d;
+        if (version >= 3) {
+            int levels = readVarint(in);
+            if (levels < 1 || levels > in.remaining()) throw new IllegalArgumentException("Bad level count " + levels);
+            int[] pairs = new int[levels];
+            int[] lives = new int[levels];
+            int[] timeLimits = new int[levels];
+            for (int i = 0; i < levels; i++) {
+                pairs[i] = readVarint(in);
+                lives[i] = readVarint(in);
+                timeLimits[i] = readVarint(in);
+            }
+            rules = new GameRules(pairs, lives, timeLimits, d.basePoints, d.timeBonusPerSecond,
+                    d.comboStep, d.maxComboMultiplier);
+        }
+        return rules.withEndless(d.endless.withMaxPairs(endlessMaxPairs));
+    }
+
+    static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new MalformedVarintException();
+    }
+
+    public static void main(String[] args) throws IOException {
+        double speed = 0;
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--speed=")) {
+                speed = Double.parseDouble(arg.substring("--speed=".length()));
+                continue;
+            }
+            Path p = Paths.get(arg);
+            if (Files.isDirectory(p)) {
+                try (Stream<Path> s = Files.list(p)) {
+                    s.filter(f -> f.toString().endsWith(GameRecorder.FILE_SUFFIX)).sorted().forEach(files::add);
+                }
+            } else {
+                files.add(p);
+            }
+        }
+        if (files.isEmpty()) {
+            System.out.println("Usage: java memorygame.GameReplayer [--speed=N] <recording or directory>...");
+            return;
+        }
+
+        long start = System.nanoTime();
+        final double pace = speed;
+        Listener printer = pace > 0 ? (type, e) -> System.out.printf("level %d  score %d  lives %d  matches %d/%d%n",
+                e.level(), e.score(), e.lives(), e.matchesFound(), e.pairs()) : null;
+        Stream<Path> stream = pace > 0 ? files.stream() : files.parallelStream();
+        long verified = stream.map(f -> {
+            try {
+                Result r = replay(f, pace, printer);
+                System.out.println(r);
+                return r.verified();
+            } catch (IOException ex) {
+                System.out.println(f.getFileName() + ": " + ex.getMessage());
+                return false;
+            }
+        }).filter(ok -> ok).count();
+        System.out.printf("%d of %d recordings verified in %.1f ms%n",
+                verified, files.size(), (System.nanoTime() - start) / 1e6);
+    }
+}
@@ -0,0 +1,87 @@
+package memorygame;
+
+/**
+ * Level table and scoring constants used by {@link MemoryEngine}. The
+ * defaults are the shipped game; other instances let simulations and the
+ * difficulty tuner try different values without touching the engine.
+ * Levels past the table, in endless mode, come from a {@link DifficultyCurve}.
+ * Instances are immutable, and the {@code with*} methods return copies.
+ */
+final class GameRules {
+
+    static final GameRules DEFAULT = new GameRules(
+            MemoryEngine.PAIRS_BY_LEVEL, MemoryEngine.LIVES_BY_LEVEL, MemoryEngine.TIME_LIMIT_BY_LEVEL_SECONDS,
+            MemoryEngine.BASE_POINTS, 1.0, MemoryEngine.COMBO_STEP, MemoryEngine.MAX_COMBO_MULTIPLIER);
+
+    private final int[] pairsByLevel;
+    private final int[] livesByLevel;
+    private final int[] timeLimitByLevelSeconds;
+    final int basePoints;
+    final double timeBonusPerSecond;
+    final double comboStep;
+    final double maxComboMultiplier;
+    final DifficultyCurve endless;
+
+    GameRules(int[] pairsByLevel, int[] livesByLevel, int[] timeLimitByLevelSeconds,
+              int basePoints, double timeBonusPerSecond, double comboStep, double maxComboMultiplier) {
+        this(pairsByLevel, livesByLevel, timeLimitByLevelSeconds,
+                basePoints, timeBonusPerSecond, comboStep, maxComboMultiplier, DifficultyCurve.DEFAULT);
+    }
+
+    GameRules(int[] pairsByLevel, int[] livesByLevel, int[] timeLimitByLevelSeconds,
+              int basePoints, double timeBonusPerSecond, double comboStep, double maxComboMultiplier,
+              DifficultyCurve endless) {
+        if (livesByLevel.length != pairsByLevel.length || timeLimitByLevelSeconds.length != pairsByLevel.length) {
+            throw new IllegalArgumentException("Level tables must have the same length");
+        }
+        this.pairsByLevel = pairsByLevel.clone();
+        this.livesByLevel = livesByLevel.clone();
+        this.timeLimitByLevelSeconds = timeLimitByLevelSeconds.clone();
+        this.basePoints = basePoints;
+        this.timeBonusPerSecond = timeBonusPerSecond;
+        this.comboStep = comboStep;
+        this.maxComboMultiplier = maxComboMultiplier;
+        this.endless = endless;
+    }
+
+    int levelCount() { return pairsByLevel.length; }
+    int pairs(int level) { return pairsByLevel[level - 1]; }
+    int lives(int level) { return livesByLevel[level - 1]; }
+    int timeLimitSeconds(int level) { return timeLimitByLevelSeconds[level - 1]; }
+
+    int maxPairs() {
+        int max = 0;
+        for (int p : pairsByLevel) max = Math.max(max, p);
+        return max;
+    }
+
+    /** Points for a match with {@code secondsLeft} on the clock as the {@code streak}-th match in a row. */
+    int matchPoints(double secondsLeft, int streak) {
+        double multiplier = Math.min(maxComboMultiplier, 1 + (streak - 1) * comboStep);
+        return (int) ((basePoints + secondsLeft * timeBonusPerSecond) * multiplier);
+    }
+
+    GameRules withLives(int level, int lives) {
+        int[] l = livesByLevel.clone();
+        l[level - 1] = lives;
+        return new GameRules(pairsByLevel, l, timeLimitByLevelSeconds,
+                basePoints, timeBonusPerSecond, comboStep, maxComboMultiplier, endless);
+    }
+
+    GameRules withTimeLimit(int level, int seconds) {
+        int[] t = timeLimitByLevelSeconds.clone();
+        t[level - 1] = seconds;
+        return new GameRules(pairsByLevel, livesByLevel, t,
+                basePoints, timeBonusPerSecond, comboStep, maxComboMultiplier, endless);
+    }
+
+    GameRules withScoring(int basePoints, double timeBonusPerSecond, double comboStep, double maxComboMultiplier) {
+        return new GameRules(pairsByLevel, livesByLevel, timeLimitByLevelSeconds,
+                basePoints, timeBonusPerSecond, comboStep, maxComboMultiplier, endless);
+    }
+
+    GameRules withEndless(DifficultyCurve endless) {
+        return new GameRules(pairsByLevel, livesByLevel, timeLimitByLevelSeconds,
+                basePoints, timeBonusPerSecond, comboStep, maxComboMultiplier, endless);
+    }
+}
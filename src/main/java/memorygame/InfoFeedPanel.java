@@ -0,0 +1,104 @@
+package memorygame;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.MatteBorder;
+import java.awt.*;
+
+/**
+ * Non-modal side panel that lists the descriptions of recent matches,
+ * newest first, while play continues. Each entry's HTML is parsed into a
+ * label once and reused whenever that card is matched again, for as long as
+ * the label cache's budget allows.
+ */
+final class InfoFeedPanel extends JPanel {
+
+    private static final int MAX_ENTRIES = 6;
+    private static final int TEXT_WIDTH = 190;
+
+    private final JPanel entries = new JPanel();
+    private final JLabel header = new JLabel("Discoveries");
+    private static final String KEY_PROPERTY = "feedKey";
+
+    private final MemoryCache<String, JLabel> rendered;
+    private Color entryBackground = Color.WHITE;
+    private Color entryText = Color.BLACK;
+    private Color entryBorder = new Color(0xBDBDBD);
+
+    InfoFeedPanel(long cacheBytes) {
+        super(new BorderLayout(0, 6));
+        // A parsed HTML label holds a view tree of a few dozen bytes per character.
+        rendered = new MemoryCache<>("Description label", cacheBytes, l -> 1024L + 32L * l.getText().length());
+        setBorder(new EmptyBorder(10, 6, 10, 10));
+        header.setFont(header.getFont().deriveFont(Font.BOLD, 14f));
+        add(header, BorderLayout.NORTH);
+
+        entries.setLayout(new BoxLayout(entries, BoxLayout.Y_AXIS));
+        entries.setOpaque(false);
+        JPanel holder = new JPanel(new BorderLayout());
+        holder.setOpaque(false);
+        holder.add(entries, BorderLayout.NORTH);
+        add(holder, BorderLayout.CENTER);
+        setPreferredSize(new Dimension(TEXT_WIDTH + 36, 0));
+    }
+
+    /** Parses and caches the entry for {@code key} ahead of time. */
+    void prepare(String key, String html) {
+        entryFor(key, html);
+    }
+
+    /** Adds the entry for {@code key} to the top of the feed. */
+    void post(String key, String html) {
+        JLabel label = entryFor(key, html);
+        for (Component c : entries.getComponents()) {
+            if (key.equals(((JComponent) c).getClientProperty(KEY_PROPERTY))) entries.remove(c);
+        }
+        entries.add(label, 0);
+        while (entries.getComponentCount() > MAX_ENTRIES) {
+            entries.remove(entries.getComponentCount() - 1);
+        }
+        entries.revalidate();
+        entries.repaint();
+    }
+
+    void clear() {
+        entries.removeAll();
+        entries.revalidate();
+        entries.repaint();
+    }
+
+    void setColors(Color background, Color headerText, Color entryBackground, Color entryText, Color accent) {
+        setBackground(background);
+        header.setForeground(headerText);
+        this.entryBackground = entryBackground;
+        this.entryText = entryText;
+        this.entryBorder = accent;
+        rendered.clear();
+        for (Component c : entries.getComponents()) style((JLabel) c);
+    }
+
+    MemoryCache<String, JLabel> cache() {
+        return rendered;
+    }
+
+    private JLabel entryFor(String key, String html) {
+        JLabel label = rendered.get(key);
+        if (label == null) {
+            String body = html.startsWith("<html>") ? html.substring("<html>".length()) : html;
+            label = new JLabel("<html><div style='width:" + TEXT_WIDTH + "px'>" + body);
+            label.setOpaque(true);
+            label.setAlignmentX(Component.LEFT_ALIGNMENT);
+            label.putClientProperty(KEY_PROPERTY, key);
+            style(label);
+            rendered.put(key, label);
+        }
+        return label;
+    }
+
+    private void style(JLabel label) {
+        label.setBackground(entryBackground);
+        label.setForeground(entryText);
+        label.setBorder(BorderFactory.createCompoundBorder(
+                new MatteBorder(0, 4, 1, 0, entryBorder), new EmptyBorder(6, 8, 6, 6)));
+    }
+}
@@ -0,0 +1,330 @@
+package memorygame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * Crash-safe, memory-mapped append log in front of the {@link LeaderboardStore}.
+ *
+ * <p>Each entry is written as {@code [length][crc32][sequence][record]}. A
+ * single committer thread drains every pending score, writes the whole batch
+ * into the mapping and forces it once, so a burst of finished games shares
+ * one sync. Committed entries are then applied to the store, which remembers
+ * the last sequence it has seen. On startup the log is scanned up to the
+ * first torn or corrupt entry and anything the store has not applied yet is
+ * replayed.
+ *
+ * <p>A score counts as saved once its entry is forced. If the store then
+ * fails to apply it, the entry stays queued, and every later batch first
+ * retries the queue in sequence order. The log is not truncated while
+ * anything is queued, so a restart replays those entries too.
+ */
+final class LeaderboardLog implements Closeable {
+
+    private static final int MAGIC = 0x44574C4C;  // "DWLL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int ENTRY_OVERHEAD = 4 + 4 + 4;
+    private static final int ENTRY_SIZE = ENTRY_OVERHEAD + LeaderboardRecord.SIZE;
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    private static final int CHECKPOINT_BYTES = 1024 * 1024;
+
+    private final FileChannel channel;
+    private final LeaderboardStore store;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread committer;
+    private final CRC32 crc = new CRC32();
+
+    private MappedByteBuffer map;
+    private int writePos = HEADER_SIZE;
+    private int nextSeq;
+    private volatile boolean closed;
+    // Committer thread only: durable entries not yet applied to the store, oldest first.
+    private final ArrayDeque<Committed> unapplied = new ArrayDeque<>();
+    private boolean applyFailed;
+
+    private static final class Pending {
+        final LeaderboardRecord record;
+        final Runnable action;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Pending(LeaderboardRecord record, Runnable action) {
+            this.record = record;
+            this.action = action;
+        }
+    }
+
+    private static final class Committed {
+        final int seq;
+        final LeaderboardRecord record;
+
+        Committed(int seq, LeaderboardRecord record) {
+            this.seq = seq;
+            this.record = record;
+        }
+    }
+
+    private LeaderboardLog(FileChannel channel, LeaderboardStore store) {
+        this.channel = channel;
+        this.store = store;
+        committer = new Thread(this::runCommitter, "leaderboard-committer");
+        committer.setDaemon(true);
+    }
+
+    static LeaderboardLog open(Path file, LeaderboardStore store) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        LeaderboardLog log = new LeaderboardLog(ch, store);
+        try {
+            log.recover();
+        } catch (IOException ex) {
+            ch.close();
+            throw ex;
+        }
+        log.committer.start();
+        return log;
+    }
+
+    /** Queues a record; the future completes once it is durable on disk. */
+    CompletableFuture<Void> append(LeaderboardRecord record) {
+        Pending p = new Pending(record, null);
+        if (closed) {
+            p.done.completeExceptionally(new IOException("Leaderboard log is closed"));
+        } else {
+            queue.add(p);
+        }
+        return p.done;
+    }
+
+    /** Blocks until every score queued so far has been committed and applied. */
+    void flush() {
+        flushAsync().join();
+    }
+
+    /** Completes once every score queued so far has been committed and applied. */
+    CompletableFuture<Void> flushAsync() {
+        return runOnCommitter(() -> { });
+    }
+
+    /** Clears the store and the log after pending scores have been committed. */
+    void clear() throws IOException {
+        try {
+            runOnCommitter(() -> {
+                try {
+                    store.clear(nextSeq - 1);
+                    unapplied.clear();
+                    applyFailed = false;
+                    resetLog();
+                } catch (IOException ex) {
+                    throw new RuntimeException(ex);
+                }
+            }).join();
+        } catch (RuntimeException ex) {
+            throw new IOException("Could not clear leaderboard", ex);
+        }
+    }
+
+    private CompletableFuture<Void> runOnCommitter(Runnable action) {
+        Pending p = new Pending(null, action);
+        if (closed) {
+            p.done.complete(null);
+        } else {
+            queue.add(p);
+        }
+        return p.done;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            flush();
+            closed = true;
+            committer.interrupt();
+            try {
+                committer.join(2000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        channel.close();
+    }
+
+    private void runCommitter() {
+        List<Pending> batch = new ArrayList<>();
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException ex) {
+                break;
+            }
+            queue.drainTo(batch);
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        int firstSeq = nextSeq;
+        int firstPos = writePos;
+        Throwable failure = null;
+        try {
+            for (Pending p : batch) {
+                if (p.record != null) writeEntry(nextSeq++, p.record);
+            }
+            if (nextSeq != firstSeq) map.force();
+        } catch (IOException | RuntimeException ex) {
+            // Not durable: hide the batch from the recovery scan and reuse its sequences.
+            System.out.println("Error committing leaderboard: " + ex.getMessage());
+            failure = ex;
+            map.putInt(firstPos, 0);
+            writePos = firstPos;
+            nextSeq = firstSeq;
+        }
+        if (failure == null) {
+            int seq = firstSeq;
+            for (Pending p : batch) {
+                if (p.record != null) unapplied.add(new Committed(seq++, p.record));
+            }
+        }
+        try {
+            applyCommitted();
+            if (unapplied.isEmpty() && writePos > CHECKPOINT_BYTES) {
+                store.force();
+                resetLog();
+            }
+        } catch (IOException | RuntimeException ex) {
+            System.out.println("Error applying leaderboard entries (" + unapplied.size()
+                    + " kept in the log): " + ex.getMessage());
+        }
+        for (Pending p : batch) {
+            if (p.record != null) {
+                if (failure != null) p.done.completeExceptionally(failure);
+                else p.done.complete(null);
+            } else {
+                try {
+                    p.action.run();
+                    p.done.complete(null);
+                } catch (RuntimeException ex) {
+                    p.done.completeExceptionally(ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the queued entries in sequence order. After a failure the store
+     * may already hold the entry it failed on, so entries up to its applied
+     * sequence are dropped first rather than appended twice.
+     */
+    private void applyCommitted() throws IOException {
+        if (unapplied.isEmpty()) return;
+        if (applyFailed) {
+            int applied = store.appliedSequence();
+            while (!unapplied.isEmpty() && unapplied.peek().seq <= applied) unapplied.poll();
+            applyFailed = false;
+        }
+        while (!unapplied.isEmpty()) {
+            Committed c = unapplied.peek();
+            applyFailed = true;
+            store.append(c.record, c.seq);
+            applyFailed = false;
+            unapplied.poll();
+        }
+    }
+
+    private void writeEntry(int seq, LeaderboardRecord record) throws IOException {
+        ensureCapacity(writePos + ENTRY_SIZE + 4);
+        ByteBuffer payload = ByteBuffer.allocate(4 + LeaderboardRecord.SIZE);
+        payload.putInt(seq);
+        record.writeTo(payload);
+        payload.flip();
+        crc.reset();
+        crc.update(payload.duplicate());
+
+        map.position(writePos + 8);
+        map.put(payload);
+        map.putInt(0);                 // end marker for the recovery scan
+        map.putInt(writePos + 4, (int) crc.getValue());
+        map.putInt(writePos, LeaderboardRecord.SIZE);
+        writePos += ENTRY_SIZE;
+    }
+
+    private void recover() throws IOException {
+        boolean fresh = channel.size() < HEADER_SIZE;
+        mapCapacity((int) Math.max(INITIAL_CAPACITY, channel.size()));
+        if (fresh || map.getInt(0) != MAGIC || map.getInt(4) != VERSION) {
+            if (!fresh) System.out.println("Leaderboard log header invalid; starting a new log.");
+            clearRegion(0, map.capacity());
+            map.putInt(0, MAGIC);
+            map.putInt(4, VERSION);
+            map.force();
+            nextSeq = store.appliedSequence() + 1;
+            return;
+        }
+
+        int applied = store.appliedSequence();
+        int pos = HEADER_SIZE;
+        int lastSeq = Integer.MIN_VALUE;
+        int replayed = 0;
+        while (pos + ENTRY_SIZE <= map.capacity()) {
+            int len = map.getInt(pos);
+            if (len != LeaderboardRecord.SIZE) break;
+            ByteBuffer payload = map.duplicate();
+            payload.position(pos + 8).limit(pos + ENTRY_SIZE);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != map.getInt(pos + 4)) {
+                System.out.println("Leaderboard log: discarding torn entry at offset " + pos);
+                break;
+            }
+            int seq = payload.getInt();
+            if (seq <= lastSeq) break;
+            lastSeq = seq;
+            if (seq > applied) {
+                store.append(LeaderboardRecord.readFrom(payload), seq);
+                replayed++;
+            }
+            pos += ENTRY_SIZE;
+        }
+        if (replayed > 0) {
+            System.out.println("Leaderboard log: recovered " + replayed + " unapplied entries");
+        }
+        nextSeq = Math.max(store.appliedSequence(), lastSeq) + 1;
+        writePos = pos;
+        store.force();
+        resetLog();
+    }
+
+    private void resetLog() throws IOException {
+        clearRegion(HEADER_SIZE, Math.min(map.capacity(), writePos + 4));
+        map.force();
+        writePos = HEADER_SIZE;
+    }
+
+    private void clearRegion(int from, int to) {
+        for (int i = from; i < to; i++) map.put(i, (byte) 0);
+    }
+
+    private void ensureCapacity(int needed) throws IOException {
+        if (needed <= map.capacity()) return;
+        int cap = map.capacity();
+        while (cap < needed) cap *= 2;
+        map.force();
+        mapCapacity(cap);
+    }
+
+    private void mapCapacity(int capacity) throws IOException {
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+}
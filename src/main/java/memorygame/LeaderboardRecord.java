@@ -0,0 +1,100 @@
+package memorygame;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * One finished game on the leaderboard, with its fixed-width binary form.
+ */
+final class LeaderboardRecord {
+
+    static final int SIZE = 96;
+    static final int NAME_BYTES = 46;
+    static final int NO_DATE = Integer.MIN_VALUE;
+    static final long NO_SEED = 0L;
+    static final int FLAG_ENDLESS = 1;
+
+    /** Offset of the game seed; bytes 72-75 belong to the store's log sequence. */
+    private static final int SEED_OFFSET = 76;
+    /** Offset of the FLAG_* byte; records written before it existed have 0 there. */
+    static final int FLAGS_OFFSET = 84;
+
+    final String name;
+    final int score;
+    final int level;
+    final int livesLeft;
+    final int matches;
+    final int timeUsed;
+    final int epochDay;
+    final long seed;
+    /** Played in endless mode; ranked apart from classic games. */
+    final boolean endless;
+
+    LeaderboardRecord(String name, int score, int level, int livesLeft, int matches, int timeUsed, int epochDay) {
+        this(name, score, level, livesLeft, matches, timeUsed, epochDay, NO_SEED, false);
+    }
+
+    LeaderboardRecord(String name, int score, int level, int livesLeft, int matches, int timeUsed, int epochDay,
+                      long seed, boolean endless) {
+        this.name = name == null ? "" : name;
+        this.score = score;
+        this.level = level;
+        this.livesLeft = livesLeft;
+        this.matches = matches;
+        this.timeUsed = timeUsed;
+        this.epochDay = epochDay;
+        this.seed = seed;
+        this.endless = endless;
+    }
+
+    String dateText() {
+        return epochDay == NO_DATE ? "" : LocalDate.ofEpochDay(epochDay).toString();
+    }
+
+    String seedText() {
+        return seed == NO_SEED ? "" : BoardGenerator.format(seed);
+    }
+
+    /** Writes exactly {@link #SIZE} bytes at the buffer's position. */
+    void writeTo(ByteBuffer buf) {
+        int start = buf.position();
+        byte[] nameBytes = truncatedName(name);
+        buf.putShort((short) nameBytes.length);
+        buf.put(nameBytes);
+        buf.position(start + 2 + NAME_BYTES);
+        buf.putInt(score);
+        buf.putInt(level);
+        buf.putInt(livesLeft);
+        buf.putInt(matches);
+        buf.putInt(timeUsed);
+        buf.putInt(epochDay);
+        while (buf.position() < start + SIZE) buf.put((byte) 0);
+        buf.putLong(start + SEED_OFFSET, seed);
+        buf.put(start + FLAGS_OFFSET, (byte) (endless ? FLAG_ENDLESS : 0));
+    }
+
+    /** Reads exactly {@link #SIZE} bytes from the buffer's position. */
+    static LeaderboardRecord readFrom(ByteBuffer buf) {
+        int start = buf.position();
+        int len = Math.min(buf.getShort() & 0xFFFF, NAME_BYTES);
+        byte[] nameBytes = new byte[len];
+        buf.get(nameBytes);
+        buf.position(start + 2 + NAME_BYTES);
+        LeaderboardRecord r = new LeaderboardRecord(new String(nameBytes, StandardCharsets.UTF_8),
+                buf.getInt(), buf.getInt(), buf.getInt(), buf.getInt(), buf.getInt(), buf.getInt(),
+                buf.getLong(start + SEED_OFFSET), (buf.get(start + FLAGS_OFFSET) & FLAG_ENDLESS) != 0);
+        buf.position(start + SIZE);
+        return r;
+    }
+
+    private static byte[] truncatedName(String name) {
+        String n = name;
+        byte[] b = n.getBytes(StandardCharsets.UTF_8);
+        while (b.length > NAME_BYTES) {
+            n = n.substring(0, Character.isLowSurrogate(n.charAt(n.length() - 1)) ? n.length() - 2 : n.length() - 1);
+            b = n.getBytes(StandardCharsets.UTF_8);
+        }
+        return b;
+    }
+}
@@ -0,0 +1,538 @@
+package memorygame;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Binary leaderboard storage. Records live in a data file of fixed-width
+ * {@link LeaderboardRecord}s in insertion order; a separate index file keeps
+ * (score, record number) pairs sorted by score, highest first, so top-K
+ * reads and rank lookups only touch O(log n + K) index entries.
+ *
+ * <p>The index is a sorted run followed by a delta of at most
+ * {@link #DELTA_MAX} recent entries in insertion order, which is also kept
+ * sorted in memory. An insert writes a single entry at the end of the file;
+ * once the delta is full it is merged into the run in one backwards pass, so
+ * rewriting the index is amortized over {@code DELTA_MAX} inserts instead of
+ * paid by every new high score.
+ *
+ * <p>Classic and endless games are ranked separately: the index orders all
+ * classic entries before all endless ones, so each mode is a contiguous
+ * range of the index and its pages and ranks are found the same way. Index
+ * entries carry the mode in the top bit of the record number.
+ *
+ * <p>Every record also carries the {@link LeaderboardLog} sequence number it
+ * was committed under, so after a crash the log knows exactly which entries
+ * already reached the store.
+ *
+ * <p>The data header holds the magic, the version, a flags word and the
+ * sequence recorded by {@link #clear(int)}. The record count is not stored;
+ * it follows from the file size. While the old text file is migrated, the
+ * flags word marks the store as migrating. A store opened with the mark
+ * still set is emptied, so an interrupted migration runs again from the
+ * start instead of leaving part of the text file behind.
+ */
+final class LeaderboardStore implements Closeable {
+
+    private static final int DATA_MAGIC = 0x44574C42;   // "DWLB"
+    private static final int INDEX_MAGIC = 0x44574C49;  // "DWLI"
+    private static final int VERSION = 1;
+    private static final int INDEX_VERSION = 3;
+    private static final int HEADER_SIZE = 16;
+    private static final int INDEX_ENTRY = 8;
+    private static final int SEQ_OFFSET = 2 + LeaderboardRecord.NAME_BYTES + 24;
+    private static final int HEADER_FLAGS_OFFSET = 8;
+    private static final int HEADER_SEQ_OFFSET = 12;
+    private static final int FLAG_MIGRATING = 1;
+    private static final int DELTA_MAX = 1024;
+    private static final int MERGE_CHUNK = 8192;
+    private static final int ENDLESS_BIT = 0x80000000;
+
+    private final FileChannel data;
+    private final FileChannel index;
+    private int count;
+    // Entries [0, sortedCount) of the index file are sorted; the rest are the delta.
+    private int sortedCount;
+    // The delta's keys in rank order, and for each the number of sorted entries ranked above it.
+    private final long[] deltaKeys = new long[DELTA_MAX];
+    private final int[] deltaSortedPos = new int[DELTA_MAX];
+    private int deltaSize;
+
+    private LeaderboardStore(FileChannel data, FileChannel index) {
+        this.data = data;
+        this.index = index;
+    }
+
+    static LeaderboardStore open(Path dataFile, Path indexFile) throws IOException {
+        FileChannel data = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel index = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        LeaderboardStore store = new LeaderboardStore(data, index);
+        try {
+            store.init();
+        } catch (IOException ex) {
+            store.close();
+            throw ex;
+        }
+        return store;
+    }
+
+    private void init() throws IOException {
+        if (data.size() < HEADER_SIZE) {
+            data.truncate(0);
+            writeHeader(data, DATA_MAGIC);
+        } else {
+            checkHeader(data, DATA_MAGIC);
+            if ((readFully(data, HEADER_FLAGS_OFFSET, 4).getInt() & FLAG_MIGRATING) != 0) {
+                System.out.println("Leaderboard migration did not finish; starting it again.");
+                data.truncate(HEADER_SIZE);
+                writeFlags(0);
+                data.force(true);
+            }
+        }
+        long usable = (data.size() - HEADER_SIZE) / LeaderboardRecord.SIZE;
+        if (HEADER_SIZE + usable * LeaderboardRecord.SIZE != data.size()) {
+            System.out.println("Leaderboard data has a partial record; truncating.");
+            data.truncate(HEADER_SIZE + usable * LeaderboardRecord.SIZE);
+        }
+        count = (int) usable;
+
+        boolean indexOk = index.size() == HEADER_SIZE + (long) count * INDEX_ENTRY;
+        if (indexOk) {
+            ByteBuffer h = readFully(index, 0, HEADER_SIZE);
+            indexOk = h.getInt() == INDEX_MAGIC && h.getInt() == INDEX_VERSION && h.getInt() == count;
+            sortedCount = h.getInt();
+            indexOk &= sortedCount >= 0 && sortedCount <= count && count - sortedCount <= DELTA_MAX;
+        }
+        if (indexOk) loadDelta();
+        else rebuildIndex();
+    }
+
+    private void loadDelta() throws IOException {
+        deltaSize = 0;
+        int n = count - sortedCount;
+        if (n == 0) return;
+        ByteBuffer entries = readFully(index, HEADER_SIZE + (long) sortedCount * INDEX_ENTRY, n * INDEX_ENTRY);
+        while (entries.hasRemaining()) {
+            int score = entries.getInt();
+            addToDelta(entryKey(score, entries.getInt()));
+        }
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    /** Number of stored games of one mode. */
+    synchronized int size(boolean endless) throws IOException {
+        int classic = countBelow(0L);
+        return endless ? count - classic : classic;
+    }
+
+    /** Appends a record committed under log sequence {@code seq} and indexes it. */
+    synchronized void append(LeaderboardRecord r, int seq) throws IOException {
+        ByteBuffer rec = ByteBuffer.allocate(LeaderboardRecord.SIZE);
+        r.writeTo(rec);
+        rec.putInt(SEQ_OFFSET, seq);
+        rec.flip();
+        writeFully(data, rec, HEADER_SIZE + (long) count * LeaderboardRecord.SIZE);
+
+        ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY);
+        long key = key(r.score, count, r.endless);
+        entry.putInt(r.score).putInt(taggedRecNo(key)).flip();
+        writeFully(index, entry, HEADER_SIZE + (long) count * INDEX_ENTRY);
+        addToDelta(key);
+
+        count++;
+        writeIndexHeader(count, sortedCount);
+        if (deltaSize == DELTA_MAX) mergeDelta();
+    }
+
+    /** Returns up to {@code n} records of one mode starting at its 0-based rank {@code from}. */
+    synchronized List<LeaderboardRecord> page(boolean endless, int from, int n) throws IOException {
+        int start = endless ? countBelow(0L) : 0;
+        int modeEnd = endless ? count : countBelow(0L);
+        return pageAt(start + from, Math.min(modeEnd, start + from + n));
+    }
+
+    /** Records at index positions [from, end), across both modes. */
+    private List<LeaderboardRecord> pageAt(int from, int end) throws IOException {
+        List<LeaderboardRecord> out = new ArrayList<>(Math.max(0, end - from));
+        if (from >= end) return out;
+        // Delta entry d sits at rank deltaSortedPos[d] + d, so skip the ones ranked before the page.
+        int d = 0;
+        while (d < deltaSize && deltaSortedPos[d] + d < from) d++;
+        int s = from - d;
+        int sortedEnd = Math.min(sortedCount, s + (end - from));
+        ByteBuffer entries = readFully(index, HEADER_SIZE + (long) s * INDEX_ENTRY, (sortedEnd - s) * INDEX_ENTRY);
+        ByteBuffer rec = ByteBuffer.allocate(LeaderboardRecord.SIZE);
+        for (int rank = from; rank < end; rank++) {
+            int recNo;
+            if (d < deltaSize && deltaSortedPos[d] + d == rank) {
+                recNo = recNoOf(deltaKeys[d++]);
+            } else {
+                entries.getInt();
+                recNo = entries.getInt() & ~ENDLESS_BIT;
+            }
+            rec.clear();
+            readInto(data, rec, HEADER_SIZE + (long) recNo * LeaderboardRecord.SIZE);
+            rec.flip();
+            out.add(LeaderboardRecord.readFrom(rec));
+        }
+        return out;
+    }
+
+    /** Streams every stored score of one mode in rank order straight from the index. */
+    synchronized void forEachScore(boolean endless, IntConsumer action) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(64 * 1024);
+        long pos = HEADER_SIZE;
+        long end = HEADER_SIZE + (long) sortedCount * INDEX_ENTRY;
+        int sortedPos = 0, d = 0;
+        while (pos < end) {
+            buf.clear();
+            buf.limit((int) Math.min(buf.capacity(), end - pos));
+            readInto(index, buf, pos);
+            pos += buf.limit();
+            buf.flip();
+            while (buf.hasRemaining()) {
+                for (; d < deltaSize && deltaSortedPos[d] == sortedPos; d++) {
+                    if (isEndless(deltaKeys[d]) == endless) action.accept(scoreOf(deltaKeys[d]));
+                }
+                int score = buf.getInt();
+                if ((buf.getInt() < 0) == endless) action.accept(score);
+                sortedPos++;
+            }
+        }
+        for (; d < deltaSize; d++) {
+            if (isEndless(deltaKeys[d]) == endless) action.accept(scoreOf(deltaKeys[d]));
+        }
+    }
+
+    synchronized List<LeaderboardRecord> top(boolean endless, int k) throws IOException {
+        return page(endless, 0, k);
+    }
+
+    /**
+     * Returns the 1-based rank a game of this mode with this score holds: one
+     * more than the number of stored scores of the mode strictly greater than it.
+     */
+    synchronized int rankOf(boolean endless, int score) throws IOException {
+        int start = endless ? countBelow(0L) : 0;
+        return countBelow(key(score, 0, endless)) - start + 1;
+    }
+
+    /**
+     * Highest log sequence this store has applied: that of the last record,
+     * or the one recorded by {@link #clear(int)} when the store is empty.
+     */
+    synchronized int appliedSequence() throws IOException {
+        int cleared = readFully(data, HEADER_SEQ_OFFSET, 4).getInt();
+        if (count == 0) return cleared;
+        int last = readFully(data, HEADER_SIZE + (long) (count - 1) * LeaderboardRecord.SIZE + SEQ_OFFSET, 4).getInt();
+        return Math.max(cleared, last);
+    }
+
+    /** Removes every record; {@code appliedSeq} is kept as the applied sequence. */
+    synchronized void clear(int appliedSeq) throws IOException {
+        data.truncate(HEADER_SIZE);
+        index.truncate(HEADER_SIZE);
+        count = 0;
+        sortedCount = 0;
+        deltaSize = 0;
+        ByteBuffer seq = ByteBuffer.allocate(4);
+        seq.putInt(appliedSeq).flip();
+        writeFully(data, seq, HEADER_SEQ_OFFSET);
+        writeIndexHeader(0, 0);
+        force();
+    }
+
+    synchronized void force() throws IOException {
+        data.force(false);
+        index.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            data.close();
+        } finally {
+            index.close();
+        }
+    }
+
+    /** Number of entries, sorted run and delta, whose key is below {@code key}. */
+    private int countBelow(long key) throws IOException {
+        int d = 0;
+        while (d < deltaSize && deltaKeys[d] < key) d++;
+        return insertionPoint(key) + d;
+    }
+
+    /** Number of entries in the sorted run whose key is below {@code key}. */
+    private int insertionPoint(long key) throws IOException {
+        int lo = 0, hi = sortedCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keyAt(mid) < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private long keyAt(int pos) throws IOException {
+        ByteBuffer entry = readFully(index, HEADER_SIZE + (long) pos * INDEX_ENTRY, INDEX_ENTRY);
+        int score = entry.getInt();
+        return entryKey(score, entry.getInt());
+    }
+
+    /**
+     * Sort key: classic before endless, then best score first, then
+     * insertion order. The top bit is set for classic games so they compare
+     * lower; the next 32 bits hold the score descending, the low 31 bits the
+     * record number.
+     */
+    private static long key(int score, int recNo, boolean endless) {
+        long descending = (Integer.MAX_VALUE - score) & 0xFFFFFFFFL;
+        return (endless ? 0L : Long.MIN_VALUE) | descending << 31 | recNo;
+    }
+
+    /** Key of an index entry whose record number carries {@link #ENDLESS_BIT}. */
+    private static long entryKey(int score, int taggedRecNo) {
+        return key(score, taggedRecNo & ~ENDLESS_BIT, taggedRecNo < 0);
+    }
+
+    private static int scoreOf(long key) {
+        return Integer.MAX_VALUE - (int) (key >>> 31);
+    }
+
+    private static int recNoOf(long key) {
+        return (int) key & ~ENDLESS_BIT;
+    }
+
+    private static boolean isEndless(long key) {
+        return key >= 0;
+    }
+
+    private static int taggedRecNo(long key) {
+        return isEndless(key) ? recNoOf(key) | ENDLESS_BIT : recNoOf(key);
+    }
+
+    private void addToDelta(long key) throws IOException {
+        int at = deltaSize;
+        while (at > 0 && deltaKeys[at - 1] > key) at--;
+        System.arraycopy(deltaKeys, at, deltaKeys, at + 1, deltaSize - at);
+        System.arraycopy(deltaSortedPos, at, deltaSortedPos, at + 1, deltaSize - at);
+        deltaKeys[at] = key;
+        deltaSortedPos[at] = insertionPoint(key);
+        deltaSize++;
+    }
+
+    /**
+     * Merges the delta into the sorted run from the back, so every entry is
+     * written at or after the position it is read from and the merge needs
+     * no second file. The header is invalidated first; if the merge is cut
+     * short the next open rebuilds the index from the data file.
+     */
+    private void mergeDelta() throws IOException {
+        writeIndexHeader(-1, 0);
+        long[] in = new long[MERGE_CHUNK];
+        long[] out = new long[MERGE_CHUNK];
+        int s = sortedCount, d = deltaSize;
+        int buffered = 0, outCount = 0;
+        while (d > 0) {
+            if (buffered == 0 && s > 0) {
+                buffered = Math.min(MERGE_CHUNK, s);
+                ByteBuffer chunk = readFully(index, HEADER_SIZE + (long) (s - buffered) * INDEX_ENTRY, buffered * INDEX_ENTRY);
+                for (int i = 0; i < buffered; i++) {
+                    int score = chunk.getInt();
+                    in[i] = entryKey(score, chunk.getInt());
+                }
+            }
+            if (buffered > 0 && in[buffered - 1] > deltaKeys[d - 1]) {
+                out[MERGE_CHUNK - 1 - outCount++] = in[--buffered];
+                s--;
+            } else {
+                out[MERGE_CHUNK - 1 - outCount++] = deltaKeys[--d];
+            }
+            if (outCount == MERGE_CHUNK || d == 0) {
+                writeKeys(out, MERGE_CHUNK - outCount, outCount, s + d);
+                outCount = 0;
+            }
+        }
+        // Whatever is left of the sorted run is already in place.
+        sortedCount = count;
+        deltaSize = 0;
+        writeIndexHeader(count, sortedCount);
+    }
+
+    private void writeKeys(long[] keys, int from, int n, int position) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(n * INDEX_ENTRY);
+        for (int i = from; i < from + n; i++) buf.putInt(scoreOf(keys[i])).putInt(taggedRecNo(keys[i]));
+        buf.flip();
+        writeFully(index, buf, HEADER_SIZE + (long) position * INDEX_ENTRY);
+    }
+
+    private void rebuildIndex() throws IOException {
+        long[] keys = new long[count];
+        ByteBuffer chunk = ByteBuffer.allocate(LeaderboardRecord.SIZE * 512);
+        for (int i = 0; i < count; ) {
+            int n = Math.min(512, count - i);
+            chunk.clear().limit(n * LeaderboardRecord.SIZE);
+            readInto(data, chunk, HEADER_SIZE + (long) i * LeaderboardRecord.SIZE);
+            for (int j = 0; j < n; j++, i++) {
+                int at = j * LeaderboardRecord.SIZE;
+                boolean endless = (chunk.get(at + LeaderboardRecord.FLAGS_OFFSET) & LeaderboardRecord.FLAG_ENDLESS) != 0;
+                keys[i] = key(chunk.getInt(at + 2 + LeaderboardRecord.NAME_BYTES), i, endless);
+            }
+        }
+        java.util.Arrays.sort(keys);
+
+        index.truncate(0);
+        ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+        long pos = HEADER_SIZE;
+        for (long key : keys) {
+            if (out.remaining() < INDEX_ENTRY) {
+                out.flip();
+                pos += writeFully(index, out, pos);
+                out.clear();
+            }
+            out.putInt(scoreOf(key)).putInt(taggedRecNo(key));
+        }
+        out.flip();
+        writeFully(index, out, pos);
+        sortedCount = count;
+        deltaSize = 0;
+        writeIndexHeader(count, sortedCount);
+    }
+
+    /**
+     * One-time conversion of the old pipe-delimited leaderboard text file.
+     * Does nothing unless the text file exists and the store is empty; the
+     * text file is renamed to {@code *.migrated} afterwards.
+     */
+    synchronized int migrateTextFile(Path textFile) throws IOException {
+        if (!Files.exists(textFile) || count > 0) return 0;
+        int appliedSeq = appliedSequence();
+        writeFlags(FLAG_MIGRATING);
+        data.force(true);
+        int migrated = 0;
+        try {
+            ByteBuffer out = ByteBuffer.allocate(LeaderboardRecord.SIZE * 512);
+            long pos = HEADER_SIZE;
+            try (BufferedReader br = Files.newBufferedReader(textFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    LeaderboardRecord r = parseTextLine(line);
+                    if (r != null) {
+                        if (!out.hasRemaining()) {
+                            out.flip();
+                            pos += writeFully(data, out, pos);
+                            out.clear();
+                        }
+                        r.writeTo(out);
+                        migrated++;
+                    }
+                }
+            }
+            out.flip();
+            writeFully(data, out, pos);
+            count = migrated;
+            rebuildIndex();
+            data.force(true);
+            index.force(true);
+        } catch (IOException | RuntimeException ex) {
+            // Back to the empty store, so this session's scores are not dropped with it on the next start.
+            try {
+                clear(appliedSeq);
+            } catch (IOException rollback) {
+                ex.addSuppressed(rollback);
+                throw ex;
+            }
+            writeFlags(0);
+            data.force(true);
+            throw ex;
+        }
+        writeFlags(0);
+        data.force(true);
+        Files.move(textFile, textFile.resolveSibling(textFile.getFileName() + ".migrated"),
+                StandardCopyOption.REPLACE_EXISTING);
+        return migrated;
+    }
+
+    private static LeaderboardRecord parseTextLine(String line) {
+        String[] parts = line.split("\\|");
+        if (parts.length != 7) return null;
+        try {
+            int epochDay;
+            try {
+                epochDay = (int) LocalDate.parse(parts[6].trim()).toEpochDay();
+            } catch (RuntimeException ex) {
+                epochDay = LeaderboardRecord.NO_DATE;
+            }
+            return new LeaderboardRecord(parts[0], Integer.parseInt(parts[1].trim()), Integer.parseInt(parts[2].trim()),
+                    Integer.parseInt(parts[3].trim()), Integer.parseInt(parts[4].trim()),
+                    Integer.parseInt(parts[5].trim()), epochDay);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static void writeHeader(FileChannel ch, int magic) throws IOException {
+        ByteBuffer h = ByteBuffer.allocate(HEADER_SIZE);
+        h.putInt(magic).putInt(VERSION).putInt(0).putInt(0).flip();
+        writeFully(ch, h, 0);
+    }
+
+    private void writeFlags(int flags) throws IOException {
+        ByteBuffer h = ByteBuffer.allocate(4);
+        h.putInt(flags).flip();
+        writeFully(data, h, HEADER_FLAGS_OFFSET);
+    }
+
+    private void writeIndexHeader(int entries, int sorted) throws IOException {
+        ByteBuffer h = ByteBuffer.allocate(HEADER_SIZE);
+        h.putInt(INDEX_MAGIC).putInt(INDEX_VERSION).putInt(entries).putInt(sorted).flip();
+        writeFully(index, h, 0);
+    }
+
+    private static void checkHeader(FileChannel ch, int magic) throws IOException {
+        ByteBuffer h = readFully(ch, 0, HEADER_SIZE);
+        if (h.getInt() != magic || h.getInt() != VERSION) {
+            throw new IOException("Not a leaderboard file or unsupported version");
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel ch, long pos, int len) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(len);
+        readInto(ch, buf, pos);
+        buf.flip();
+        return buf;
+    }
+
+    private static void readInto(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf, pos);
+            if (n < 0) throw new IOException("Unexpected end of leaderboard file");
+            pos += n;
+        }
+    }
+
+    private static int writeFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+        int written = 0;
+        while (buf.hasRemaining()) {
+            int n = ch.write(buf, pos + written);
+            written += n;
+        }
+        return written;
+    }
+}
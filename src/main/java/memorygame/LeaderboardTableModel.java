@@ -0,0 +1,138 @@
+package memorygame;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Table model that pages the leaderboard rows of one game mode from the
+ * {@link LeaderboardStore} on demand. Pages are kept in a shared
+ * {@link MemoryCache}, so the dialog's footprint depends on the cache budget
+ * rather than on the number of stored games, and reopening the dialog
+ * reuses the pages read last time. Page keys
+ * include the mode and its row count, so pages read before a new score was
+ * added are never shown.
+ */
+final class LeaderboardTableModel extends AbstractTableModel {
+
+    static final String[] COLUMN_NAMES = {
+            "Rank", "Name", "Score", "Level Reached", "Lives Left",
+            "Matches Made", "Time Consumed", "Date", "Seed"
+    };
+
+    private static final int PAGE_SIZE = 128;
+    // Rough heap per cached record: the object, its name and date strings.
+    private static final int RECORD_BYTES = 160;
+
+    private final LeaderboardStore store;
+    private final boolean endless;
+    private final MemoryCache<Long, List<LeaderboardRecord>> pages;
+    private final List<LeaderboardRecord> rows;
+    private final int rowCount;
+
+    LeaderboardTableModel(LeaderboardStore store, boolean endless, MemoryCache<Long, List<LeaderboardRecord>> pages)
+            throws IOException {
+        this.store = store;
+        this.endless = endless;
+        this.pages = pages;
+        this.rows = null;
+        this.rowCount = store.size(endless);
+    }
+
+    /** Model over an already loaded list, used when the store is unavailable. */
+    LeaderboardTableModel(List<LeaderboardRecord> rows) {
+        this.store = null;
+        this.endless = false;
+        this.pages = null;
+        this.rows = rows;
+        this.rowCount = rows.size();
+    }
+
+    /** Cache for the pages of store-backed models, bounded by {@code maxBytes}. */
+    static MemoryCache<Long, List<LeaderboardRecord>> newPageCache(long maxBytes) {
+        return new MemoryCache<>("Leaderboard page", maxBytes, page -> 64L + (long) page.size() * RECORD_BYTES);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (column == 0) return row + 1;
+        LeaderboardRecord r = recordAt(row);
+        if (r == null) return "";
+        switch (column) {
+            case 1: return r.name;
+            case 2: return r.score;
+            case 3: return r.level;
+            case 4: return r.livesLeft;
+            case 5: return r.matches;
+            case 6: return r.timeUsed + " sec";
+            case 7: return r.dateText();
+            default: return r.seedText();
+        }
+    }
+
+    private LeaderboardRecord recordAt(int row) {
+        if (rows != null) return row < rows.size() ? rows.get(row) : null;
+        int pageNo = row / PAGE_SIZE;
+        long key = ((long) rowCount << 32) | (endless ? 1L << 31 : 0) | pageNo;
+        List<LeaderboardRecord> page = pages.get(key);
+        if (page == null) {
+            try {
+                page = store.page(endless, pageNo * PAGE_SIZE, PAGE_SIZE);
+                pages.put(key, page);
+            } catch (IOException ex) {
+                System.out.println("Leaderboard read error: " + ex.getMessage());
+                page = Collections.emptyList();
+            }
+        }
+        int i = row - pageNo * PAGE_SIZE;
+        return i < page.size() ? page.get(i) : null;
+    }
+
+    /**
+     * Centered cell renderer shared by every column; the top three rows get
+     * gold, silver and bronze backgrounds.
+     */
+    static final class RankRenderer extends DefaultTableCellRenderer {
+        private static final Color GOLD = new Color(255, 215, 0);
+        private static final Color SILVER = new Color(192, 192, 192);
+        private static final Color BRONZE = new Color(205, 127, 50);
+
+        RankRenderer() {
+            setHorizontalAlignment(SwingConstants.CENTER);
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column) {
+            Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            if (!isSelected) {
+                switch (row) {
+                    case 0: c.setBackground(GOLD); break;
+                    case 1: c.setBackground(SILVER); break;
+                    case 2: c.setBackground(BRONZE); break;
+                    default: c.setBackground(Color.WHITE); break;
+                }
+            }
+            return c;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package memorygame;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the next level while the current one is being played: card faces
+ * are requested from the {@link CardImageService} and the match description
+ * HTML is built ahead of time. Hit/miss counters show whether the warm-up
+ * finished before the level was needed.
+ */
+final class LevelPrefetcher {
+
+    static final String DEFAULT_DESCRIPTION = "Part of the DWCC community.";
+
+    private final CardImageService images;
+    private volatile int imageSize;
+    private final CardCatalog catalog;
+    private volatile CardAtlas atlas;
+    private volatile int atlasSize;
+    private final MemoryCache<String, String> descriptionHtml;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "level-prefetcher");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicInteger imageHits = new AtomicInteger();
+    private final AtomicInteger imageMisses = new AtomicInteger();
+    private final AtomicInteger htmlHits = new AtomicInteger();
+    private final AtomicInteger htmlMisses = new AtomicInteger();
+
+    LevelPrefetcher(CardImageService images, int imageSize, CardCatalog catalog, long htmlCacheBytes) {
+        this.descriptionHtml = new MemoryCache<>("Description HTML", htmlCacheBytes, html -> 64L + 2L * html.length());
+        this.images = images;
+        this.imageSize = imageSize;
+        this.catalog = catalog;
+    }
+
+    /** Size of the face variants to warm, following the board's cell size. */
+    void setImageSize(int imageSize) {
+        this.imageSize = imageSize;
+    }
+
+    /** Faces in {@code atlas} are warmed from its pages at {@code size} instead of the image service. */
+    void setAtlas(CardAtlas atlas, int size) {
+        this.atlas = atlas;
+        this.atlasSize = size;
+    }
+
+    /** Starts loading the given level content in the background. */
+    void prefetch(String[] contents) {
+        CardAtlas atlas = this.atlas;
+        if (atlas != null) atlas.preload(contents, atlasSize);
+        executor.execute(() -> {
+            for (String key : contents) {
+                String path = atlas != null && atlas.contains(key) ? null : catalog.imageRef(key);
+                if (path != null) images.request(path, imageSize);
+                descriptionHtml.computeIfAbsent(key, this::buildHtml);
+            }
+        });
+    }
+
+    /**
+     * Records whether the assets for a level that is about to be shown were
+     * already warm. Must be called before the board requests its images.
+     */
+    void recordLevelStart(String[] contents) {
+        CardAtlas atlas = this.atlas;
+        for (String key : contents) {
+            String path = atlas != null && atlas.contains(key) ? null : catalog.imageRef(key);
+            if (path != null) {
+                if (images.getIfReady(path, imageSize) != null) imageHits.incrementAndGet();
+                else imageMisses.incrementAndGet();
+            }
+            if (descriptionHtml.containsKey(key)) htmlHits.incrementAndGet();
+            else htmlMisses.incrementAndGet();
+        }
+    }
+
+    String descriptionHtml(String key) {
+        return descriptionHtml.computeIfAbsent(key, this::buildHtml);
+    }
+
+    MemoryCache<String, String> htmlCache() {
+        return descriptionHtml;
+    }
+
+    private String buildHtml(String key) {
+        String desc = catalog.description(key);
+        if (desc == null) desc = DEFAULT_DESCRIPTION;
+        return "<html><b>" + key + "</b><br/><i>" + desc + "</i></html>";
+    }
+
+    int imageHits() { return imageHits.get(); }
+    int imageMisses() { return imageMisses.get(); }
+    int htmlHits() { return htmlHits.get(); }
+    int htmlMisses() { return htmlMisses.get(); }
+
+    String statsSummary() {
+        return "Prefetch stats: images " + imageHits + " hit / " + imageMisses + " miss, descriptions "
+                + htmlHits + " hit / " + htmlMisses + " miss";
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,139 @@
+package memorygame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * In-memory leaderboard kept up to date as games finish. Scores are held in
+ * an order-statistic treap (one node per distinct score, with subtree
+ * counts) so a rank is an O(log n) walk, and the best {@code capacity}
+ * records are kept in a small sorted list for the dialog. Each game mode
+ * has its own instance.
+ */
+final class LiveLeaderboard {
+
+    private static final class Node {
+        final int score;
+        final int priority;
+        int count;
+        int size;
+        Node left, right;
+
+        Node(int score, int priority) {
+            this.score = score;
+            this.priority = priority;
+            this.count = 1;
+            this.size = 1;
+        }
+    }
+
+    private final int capacity;
+    private final List<LeaderboardRecord> top;
+    private final Random random = new Random();
+    private Node root;
+
+    LiveLeaderboard(int capacity) {
+        this.capacity = capacity;
+        this.top = new ArrayList<>(capacity + 1);
+    }
+
+    /** Builds a live view of one mode from the store's index and its first {@code capacity} records. */
+    static LiveLeaderboard load(LeaderboardStore store, boolean endless, int capacity) throws java.io.IOException {
+        LiveLeaderboard live = new LiveLeaderboard(capacity);
+        store.forEachScore(endless, live::addScore);
+        live.top.addAll(store.top(endless, capacity));
+        return live;
+    }
+
+    synchronized void add(LeaderboardRecord r) {
+        addScore(r.score);
+
+        int n = top.size();
+        if (n >= capacity && top.get(n - 1).score >= r.score) return;
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (top.get(mid).score >= r.score) lo = mid + 1;
+            else hi = mid;
+        }
+        top.add(lo, r);
+        if (top.size() > capacity) top.remove(top.size() - 1);
+    }
+
+    /** Returns the best {@code n} records, highest score first. */
+    synchronized List<LeaderboardRecord> top(int n) {
+        return Collections.unmodifiableList(new ArrayList<>(top.subList(0, Math.min(n, top.size()))));
+    }
+
+    /** 1-based rank of a score: one more than the number of higher scores. */
+    synchronized int rankOf(int score) {
+        int greater = 0;
+        Node t = root;
+        while (t != null) {
+            if (score < t.score) {
+                greater += size(t.right) + t.count;
+                t = t.left;
+            } else if (score > t.score) {
+                t = t.right;
+            } else {
+                greater += size(t.right);
+                break;
+            }
+        }
+        return greater + 1;
+    }
+
+    synchronized int size() {
+        return size(root);
+    }
+
+    synchronized void clear() {
+        root = null;
+        top.clear();
+    }
+
+    private synchronized void addScore(int score) {
+        root = insert(root, score);
+    }
+
+    private Node insert(Node t, int score) {
+        if (t == null) return new Node(score, random.nextInt());
+        if (score == t.score) {
+            t.count++;
+        } else if (score < t.score) {
+            t.left = insert(t.left, score);
+            if (t.left.priority > t.priority) t = rotateRight(t);
+        } else {
+            t.right = insert(t.right, score);
+            if (t.right.priority > t.priority) t = rotateLeft(t);
+        }
+        update(t);
+        return t;
+    }
+
+    private static Node rotateRight(Node t) {
+        Node l = t.left;
+        t.left = l.right;
+        l.right = t;
+        update(t);
+        return l;
+    }
+
+    private static Node rotateLeft(Node t) {
+        Node r = t.right;
+        t.right = r.left;
+        r.left = t;
+        update(t);
+        return r;
+    }
+
+    private static void update(Node t) {
+        t.size = size(t.left) + size(t.right) + t.count;
+    }
+
+    private static int size(Node t) {
+        return t == null ? 0 : t.size;
+    }
+}
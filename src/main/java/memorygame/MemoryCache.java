@@ -0,0 +1,177 @@
+package memorygame;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * LRU cache bounded by the estimated heap size of its values. Entries pushed
+ * out of the budget are not dropped right away but kept behind soft
+ * references, so they can still be hit until the garbage collector needs the
+ * memory; the strongly held part never exceeds the budget. Thread-safe. The
+ * counters show whether a budget is too small (many evictions and misses)
+ * or larger than needed.
+ */
+final class MemoryCache<K, V> {
+
+    private static final class SoftValue<K, V> extends SoftReference<V> {
+        final K key;
+        final long bytes;
+
+        SoftValue(K key, V value, long bytes, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long bytes;
+
+        Entry(V value, long bytes) {
+            this.value = value;
+            this.bytes = bytes;
+        }
+    }
+
+    private final String name;
+    private final long maxBytes;
+    private final ToLongFunction<V> weigher;
+
+    // Guarded by this. Access-ordered, so iteration starts at the least recently used entry.
+    private final LinkedHashMap<K, Entry<V>> strong = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<K, SoftValue<K, V>> soft = new HashMap<>();
+    private final ReferenceQueue<V> reclaimedQueue = new ReferenceQueue<>();
+    private long bytes;
+
+    private long hits;
+    private long softHits;
+    private long misses;
+    private long evictions;
+    private long reclaimed;
+
+    /** {@code weigher} estimates the heap bytes held by a value. */
+    MemoryCache(String name, long maxBytes, ToLongFunction<V> weigher) {
+        this.name = name;
+        this.maxBytes = Math.max(0, maxBytes);
+        this.weigher = weigher;
+    }
+
+    synchronized V get(K key) {
+        return lookup(key, true);
+    }
+
+    /**
+     * Like {@link #get} but counts no hit or miss, for probes that run on
+     * every frame and would otherwise swamp the counters of real lookups.
+     */
+    synchronized V peek(K key) {
+        return lookup(key, false);
+    }
+
+    /** True if {@code key} is cached; unlike {@link #get} this counts no hit or miss. */
+    synchronized boolean containsKey(K key) {
+        if (strong.containsKey(key)) return true;
+        SoftValue<K, V> ref = soft.get(key);
+        return ref != null && ref.get() != null;
+    }
+
+    /**
+     * Returns the cached value or loads it. The loader runs outside the
+     * lock, so two threads may both load a missing key; the last one wins.
+     */
+    V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) return value;
+        value = loader.apply(key);
+        if (value != null) put(key, value);
+        return value;
+    }
+
+    synchronized void put(K key, V value) {
+        expungeReclaimed();
+        soft.remove(key);
+        Entry<V> old = strong.remove(key);
+        if (old != null) bytes -= old.bytes;
+        insert(key, value, weigher.applyAsLong(value));
+    }
+
+    synchronized void remove(K key) {
+        soft.remove(key);
+        Entry<V> old = strong.remove(key);
+        if (old != null) bytes -= old.bytes;
+    }
+
+    synchronized void clear() {
+        strong.clear();
+        soft.clear();
+        bytes = 0;
+    }
+
+    synchronized long bytes() { return bytes; }
+    long maxBytes() { return maxBytes; }
+    synchronized long hits() { return hits + softHits; }
+    synchronized long softHits() { return softHits; }
+    synchronized long misses() { return misses; }
+    synchronized long evictions() { return evictions; }
+    synchronized long reclaimed() { return reclaimed; }
+
+    synchronized String stats() {
+        expungeReclaimed();
+        long lookups = hits + softHits + misses;
+        return String.format("%s cache: %d entries, %.1f/%.1f MB, %d soft; hits %d (%d soft), misses %d (%.0f%% hit), "
+                        + "evictions %d, reclaimed by GC %d",
+                name, strong.size(), bytes / 1048576.0, maxBytes / 1048576.0, soft.size(),
+                hits + softHits, softHits, misses, lookups == 0 ? 0.0 : 100.0 * (hits + softHits) / lookups,
+                evictions, reclaimed);
+    }
+
+    private V lookup(K key, boolean count) {
+        expungeReclaimed();
+        Entry<V> e = strong.get(key);
+        if (e != null) {
+            if (count) hits++;
+            return e.value;
+        }
+        SoftValue<K, V> ref = soft.remove(key);
+        V value = ref != null ? ref.get() : null;
+        if (value != null) {
+            if (count) softHits++;
+            insert(key, value, ref.bytes);
+            return value;
+        }
+        if (count) misses++;
+        return null;
+    }
+
+    private void insert(K key, V value, long size) {
+        strong.put(key, new Entry<>(value, size));
+        bytes += size;
+        Iterator<Map.Entry<K, Entry<V>>> it = strong.entrySet().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            Map.Entry<K, Entry<V>> eldest = it.next();
+            it.remove();
+            Entry<V> e = eldest.getValue();
+            bytes -= e.bytes;
+            evictions++;
+            soft.put(eldest.getKey(), new SoftValue<>(eldest.getKey(), e.value, e.bytes, reclaimedQueue));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expungeReclaimed() {
+        SoftValue<K, V> ref;
+        while ((ref = (SoftValue<K, V>) reclaimedQueue.poll()) != null) {
+            if (soft.get(ref.key) == ref) {
+                soft.remove(ref.key);
+                reclaimed++;
+            }
+        }
+    }
+}
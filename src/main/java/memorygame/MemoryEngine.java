@@ -0,0 +1,415 @@
+package memorygame;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Headless rules engine for the memory game. Holds the board as a primitive
+ * array of card ids plus per-card state bits, and has no AWT/Swing dependency
+ * so it can be driven by the UI, by simulations, or on a server.
+ */
+final class MemoryEngine {
+
+    static final int[] PAIRS_BY_LEVEL = {4, 6, 8, 10, 12};
+    static final int[] LIVES_BY_LEVEL =  {5, 10, 15, 20, 25};
+    static final int[] TIME_LIMIT_BY_LEVEL_SECONDS = {0, 0, 60, 90, 120};
+
+    static final int BASE_POINTS = 100;
+    static final double COMBO_STEP = 0.2;
+    static final double MAX_COMBO_MULTIPLIER = 3.0;
+
+    static final int FLIP_IGNORED = 0;
+    static final int FLIP_FIRST = 1;
+    static final int FLIP_MATCH = 2;
+    static final int FLIP_MISMATCH = 3;
+    static final int FLIP_LEVEL_COMPLETE = 4;
+    static final int FLIP_OUT_OF_LIVES = 5;
+
+    private static final byte FACE_UP = 1;
+    private static final byte MATCHED = 2;
+
+    private final GameClock clock;
+    private final GameRules rules;
+
+    private long gameSeed = LeaderboardRecord.NO_SEED;
+    private long dealSeed;
+    private int restarts;
+    private int gameNumber;
+    private long lastFlipMillis;
+
+    private int[] board = new int[0];
+    private byte[] state = new byte[0];
+    private int cardCount;
+
+    private int level = 1;
+    private int pairs;
+    private int lives;
+    private int timeLimitSeconds;
+    private int score;
+    private int matchesFound;
+    private int consecutiveMatches;
+    private int attempts;
+    private int lastPoints;
+    private boolean trainingMode;
+    private boolean endless;
+
+    private int firstIndex = -1;
+    private int secondIndex = -1;
+    private int lastPairFirst = -1;
+    private int lastPairSecond = -1;
+
+    MemoryEngine() {
+        this(new GameClock());
+    }
+
+    MemoryEngine(GameClock clock) {
+        this(GameRules.DEFAULT, clock);
+    }
+
+    MemoryEngine(GameRules rules, GameClock clock) {
+        this.rules = rules;
+        this.clock = clock;
+    }
+
+    static int levelCount() {
+        return PAIRS_BY_LEVEL.length;
+    }
+
+    void setTrainingMode(boolean trainingMode) {
+        this.trainingMode = trainingMode;
+    }
+
+    /** In endless mode levels never run out; their size comes from {@code rules().endless}. */
+    void setEndless(boolean endless) {
+        this.endless = endless;
+    }
+
+    void newGame() {
+        newGame(BoardGenerator.randomSeed());
+    }
+
+    /** Starts a game whose boards are fully determined by {@code seed}. */
+    void newGame(long seed) {
+        newGame(seed, 1);
+    }
+
+    /** Starts a game with {@code seed} directly at {@code level}. */
+    void newGame(long seed, int level) {
+        gameNumber++;
+        gameSeed = seed;
+        score = 0;
+        startLevel(level);
+    }
+
+    void startLevel(int level) {
+        restarts = 0;
+        begin(level);
+    }
+
+    private void begin(int level) {
+        if (gameSeed == LeaderboardRecord.NO_SEED) gameSeed = BoardGenerator.randomSeed();
+        this.level = level;
+        if (endless) {
+            pairs = rules.endless.pairs(level);
+            lives = rules.endless.lives(level);
+            timeLimitSeconds = rules.endless.timeLimitSeconds(level);
+        } else {
+            pairs = rules.pairs(level);
+            lives = rules.lives(level);
+            timeLimitSeconds = rules.timeLimitSeconds(level);
+        }
+
+        if (trainingMode) {
+            lives = Integer.MAX_VALUE;
+            timeLimitSeconds = 0;
+        }
+
+        matchesFound = 0;
+        attempts = 0;
+        consecutiveMatches = 0;
+        lastPoints = 0;
+        firstIndex = secondIndex = -1;
+        lastPairFirst = lastPairSecond = -1;
+
+        deal(pairs);
+        clock.start();
+    }
+
+    void restartLevel() {
+        restarts++;
+        begin(level);
+    }
+
+    /**
+     * Writes the complete state of the level in progress. The board is stored
+     * as card ids, so restoring does not depend on the generator.
+     */
+    void writeState(ByteBuffer out) {
+        out.putLong(gameSeed);
+        out.putInt(level);
+        out.putInt(restarts);
+        out.put((byte) ((trainingMode ? 1 : 0) | (endless ? 2 : 0)));
+        out.putInt(lives);
+        out.putInt(timeLimitSeconds);
+        out.putInt(score);
+        out.putInt(matchesFound);
+        out.putInt(consecutiveMatches);
+        out.putInt(attempts);
+        out.putInt(lastPoints);
+        out.putLong(clock.elapsedMillis());
+        out.putShort((short) firstIndex);
+        out.putShort((short) secondIndex);
+        out.putShort((short) lastPairFirst);
+        out.putShort((short) lastPairSecond);
+        out.putShort((short) cardCount);
+        for (int i = 0; i < cardCount; i++) out.putShort((short) board[i]);
+        out.put(state, 0, cardCount);
+    }
+
+    /** Number of bytes {@link #writeState} writes for the current board. */
+    int stateSize() {
+        return 8 + 4 * 2 + 1 + 4 * 7 + 8 + 2 * 5 + cardCount * 3;
+    }
+
+    /**
+     * Replaces the current level with one saved by {@link #writeState}. The
+     * clock is left paused at the saved time. Counts as a new game for
+     * observers, since the level's history is not available.
+     */
+    void readState(ByteBuffer in) {
+        long gameSeed = in.getLong();
+        int level = in.getInt();
+        int restarts = in.getInt();
+        int mode = in.get();
+        int lives = in.getInt();
+        int timeLimitSeconds = in.getInt();
+        int score = in.getInt();
+        int matchesFound = in.getInt();
+        int consecutiveMatches = in.getInt();
+        int attempts = in.getInt();
+        int lastPoints = in.getInt();
+        long elapsedMillis = in.getLong();
+        int firstIndex = in.getShort();
+        int secondIndex = in.getShort();
+        int lastPairFirst = in.getShort();
+        int lastPairSecond = in.getShort();
+        int cardCount = in.getShort();
+        if (cardCount < 2 || (cardCount & 1) != 0 || level < 1) {
+            throw new IllegalArgumentException("Corrupt game state");
+        }
+        int pairs = cardCount / 2;
+        int[] board = new int[cardCount];
+        byte[] state = new byte[cardCount];
+        for (int i = 0; i < cardCount; i++) board[i] = in.getShort();
+        in.get(state, 0, cardCount);
+        checkState(cardCount, board, state, lives, matchesFound, firstIndex, secondIndex, lastPairFirst, lastPairSecond);
+
+        this.gameSeed = gameSeed;
+        this.level = level;
+        this.restarts = restarts;
+        this.trainingMode = (mode & 1) != 0;
+        this.endless = (mode & 2) != 0;
+        this.lives = lives;
+        this.timeLimitSeconds = timeLimitSeconds;
+        this.score = score;
+        this.matchesFound = matchesFound;
+        this.consecutiveMatches = consecutiveMatches;
+        this.attempts = attempts;
+        this.lastPoints = lastPoints;
+        this.firstIndex = firstIndex;
+        this.secondIndex = secondIndex;
+        this.lastPairFirst = lastPairFirst;
+        this.lastPairSecond = lastPairSecond;
+        this.cardCount = cardCount;
+        this.pairs = pairs;
+        this.board = board;
+        this.state = state;
+        dealSeed = BoardGenerator.dealSeed(gameSeed, level, restarts);
+        gameNumber++;
+        clock.restore(elapsedMillis * 1_000_000L);
+    }
+
+    /**
+     * Rejects a restored board the engine could not have produced: indices
+     * off the board, ids that are not pairs, unknown card states, or counts
+     * that disagree with the states.
+     */
+    private static void checkState(int cardCount, int[] board, byte[] state, int lives, int matchesFound,
+                                   int firstIndex, int secondIndex, int lastPairFirst, int lastPairSecond) {
+        int pairs = cardCount / 2;
+        int[] seen = new int[pairs];
+        int matched = 0;
+        int openCards = 0;
+        for (int i = 0; i < cardCount; i++) {
+            if (board[i] < 0 || board[i] >= pairs || ++seen[board[i]] > 2) {
+                throw new IllegalArgumentException("Corrupt game state: bad card id at " + i);
+            }
+            if (state[i] == (FACE_UP | MATCHED)) matched++;
+            else if (state[i] == FACE_UP) openCards++;
+            else if (state[i] != 0) throw new IllegalArgumentException("Corrupt game state: bad card state at " + i);
+        }
+        for (int index : new int[] {firstIndex, secondIndex, lastPairFirst, lastPairSecond}) {
+            if (index < -1 || index >= cardCount) throw new IllegalArgumentException("Corrupt game state: bad index " + index);
+        }
+        boolean firstOpen = firstIndex >= 0 && state[firstIndex] == FACE_UP;
+        boolean secondOpen = secondIndex >= 0 && state[secondIndex] == FACE_UP;
+        if (lives < 0 || matchesFound < 0 || matchesFound > pairs || matched != matchesFound * 2
+                || (secondIndex >= 0 && firstIndex < 0)
+                || openCards != (firstOpen ? 1 : 0) + (secondOpen ? 1 : 0)) {
+            throw new IllegalArgumentException("Corrupt game state: counts do not match the board");
+        }
+    }
+
+    boolean hasNextLevel() {
+        return endless || level < rules.levelCount();
+    }
+
+    void nextLevel() {
+        startLevel(level + 1);
+    }
+
+    private void deal(int pairs) {
+        cardCount = pairs * 2;
+        if (board.length < cardCount) {
+            board = new int[cardCount];
+            state = new byte[cardCount];
+        }
+        for (int i = 0; i < cardCount; i++) state[i] = 0;
+        dealSeed = BoardGenerator.dealSeed(gameSeed, level, restarts);
+        BoardGenerator.deal(dealSeed, pairs, board);
+    }
+
+    /**
+     * Flips the card at {@code index} and applies the game rules. Returns one
+     * of the {@code FLIP_*} codes. A mismatched pair stays face up until
+     * {@link #hideMismatched()} is called; flips in between are ignored.
+     */
+    int flip(int index) {
+        long now = clock.elapsedMillis();
+        if (secondIndex >= 0 || index < 0 || index >= cardCount || state[index] != 0 || remainingAt(now) == 0) {
+            return FLIP_IGNORED;
+        }
+        lastFlipMillis = now;
+        state[index] = FACE_UP;
+
+        if (firstIndex < 0) {
+            firstIndex = index;
+            return FLIP_FIRST;
+        }
+
+        attempts++;
+        lastPairFirst = firstIndex;
+        lastPairSecond = index;
+
+        if (board[firstIndex] == board[index]) {
+            state[firstIndex] = FACE_UP | MATCHED;
+            state[index] = FACE_UP | MATCHED;
+            matchesFound++;
+            consecutiveMatches++;
+
+            lastPoints = rules.matchPoints(Math.max(0, remainingAt(now)) / 1000.0, consecutiveMatches);
+            score += lastPoints;
+            firstIndex = -1;
+            if (matchesFound < pairs) return FLIP_MATCH;
+            clock.pause();
+            return FLIP_LEVEL_COMPLETE;
+        }
+
+        secondIndex = index;
+        consecutiveMatches = 0;
+        lastPoints = 0;
+        lives--;
+        if (lives > 0) return FLIP_MISMATCH;
+        clock.pause();
+        return FLIP_OUT_OF_LIVES;
+    }
+
+    /** Turns a pending mismatched pair face down again. */
+    void hideMismatched() {
+        if (firstIndex >= 0 && (state[firstIndex] & MATCHED) == 0) state[firstIndex] = 0;
+        if (secondIndex >= 0 && (state[secondIndex] & MATCHED) == 0) state[secondIndex] = 0;
+        firstIndex = secondIndex = -1;
+    }
+
+    /** True while the current level can still be won or lost. */
+    boolean isLevelActive() {
+        return lives > 0 && matchesFound < pairs;
+    }
+
+    /** True once every pair of the current level has been matched. */
+    boolean isLevelComplete() {
+        return lives > 0 && matchesFound == pairs;
+    }
+
+    boolean hasPendingMismatch() {
+        return secondIndex >= 0;
+    }
+
+    /**
+     * Ends the level if its time limit has run out. Returns true only on the
+     * call that ends it, so a polling UI reacts exactly once.
+     */
+    boolean checkTimeUp() {
+        if (!isTimeUp() || lives <= 0 || matchesFound == pairs) return false;
+        clock.pause();
+        lives = 0;
+        return true;
+    }
+
+    private boolean isTimeUp() {
+        return remainingAt(clock.elapsedMillis()) == 0;
+    }
+
+    /** The clock measuring the current level; pause it while the game is not visible. */
+    GameClock clock() { return clock; }
+
+    int cardCount() { return cardCount; }
+    int cardId(int index) { return board[index]; }
+    boolean isFaceUp(int index) { return (state[index] & FACE_UP) != 0; }
+    boolean isMatched(int index) { return (state[index] & MATCHED) != 0; }
+
+    int lastPairFirst() { return lastPairFirst; }
+    int lastPairSecond() { return lastPairSecond; }
+    int lastPoints() { return lastPoints; }
+
+    int level() { return level; }
+    int pairs() { return pairs; }
+    int lives() { return lives; }
+    int timeLimitSeconds() { return timeLimitSeconds; }
+
+    /** Whole seconds left, rounded up so the display reaches 0 only when time is up. */
+    int timeRemaining() { return (int) ((timeRemainingMillis() + 999) / 1000); }
+
+    /** Millis left at level time {@code elapsed}; -1 when the level has no time limit. */
+    private long remainingAt(long elapsed) {
+        return timeLimitSeconds > 0 ? Math.max(0, timeLimitSeconds * 1000L - elapsed) : -1;
+    }
+
+    long timeRemainingMillis() {
+        return Math.max(0, remainingAt(clock.elapsedMillis()));
+    }
+
+    int score() { return score; }
+    int matchesFound() { return matchesFound; }
+    int consecutiveMatches() { return consecutiveMatches; }
+    int attempts() { return attempts; }
+    boolean isTrainingMode() { return trainingMode; }
+    boolean isEndless() { return endless; }
+    GameRules rules() { return rules; }
+
+    long gameSeed() { return gameSeed; }
+    long dealSeed() { return dealSeed; }
+    int restarts() { return restarts; }
+    /** Increases with every {@code newGame}, so observers can tell games apart. */
+    int gameNumber() { return gameNumber; }
+    /** Level clock time, in millis, at which the last accepted flip was made. */
+    long lastFlipMillis() { return lastFlipMillis; }
+
+    long timeUsedMillis() {
+        long used = clock.elapsedMillis();
+        return timeLimitSeconds > 0 ? Math.min(used, timeLimitSeconds * 1000L) : used;
+    }
+
+    int timeUsedSeconds() {
+        return (int) ((timeUsedMillis() + 500) / 1000);
+    }
+}
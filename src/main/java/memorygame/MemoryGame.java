@@ -0,0 +1,1350 @@
+package memorygame;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.LineBorder;
+import java.awt.*;
+import java.awt.event.*;
+import java.util.*;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.io.IOException;     
+import javax.swing.Timer;
+import java.io.FileWriter;
+import java.io.FileReader;
+import java.io.File;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.Properties;
+import javax.swing.SwingConstants; 
+
+
+public class MemoryGame extends JFrame {
+
+    private static final Color WINDOW_BG = Color.WHITE;
+    private static  Color HEADER_FOOTER = new Color(0x1F5C34);
+    private static final Color BOARD_BG = new Color(0xE8F3EC);
+    private static final Color MATCHED_COLOR = new Color(0xC9F2D0);
+    private static  Color HEADER_TEXT = Color.WHITE;
+    private static  Color PRIMARY_TEXT = Color.BLACK;
+
+    private String playerName = null;
+    static final String CARD_IMAGE_DIR = "images";
+    private final Properties startupSettings = readSettings();
+    private final String contentPackPath = startupSettings.getProperty("contentPack", "").trim();
+    // Off by default: a kiosk runs for days, and these lines would pile up at every level.
+    private final boolean logCacheStats = Boolean.parseBoolean(startupSettings.getProperty("logCacheStats", "false").trim());
+    // Heap budget shared by the image, atlas, description and leaderboard caches.
+    private static final int DEFAULT_CACHE_BUDGET_MB = 64;
+    private static final int DEFAULT_SOUND_VOLUME = 80;
+    private final int cacheBudgetMB = readCacheBudget(startupSettings);
+    private final long cacheBudget = cacheBudgetMB * (1L << 20);
+    private final CardCatalog catalog = openCatalog(contentPackPath);
+    private final MemoryEngine engine = new MemoryEngine(catalog.rules(), new GameClock());
+
+    private ButtonBoard buttonBoard;
+    private JPanel boardContainer;
+    private InfoFeedPanel infoFeed;
+    private BoardCanvas boardCanvas;
+    private boolean useCanvasBoard = false;
+    // Boards larger than this always use the canvas; a JButton per card does not scale.
+    private static final int MAX_BUTTON_CARDS = 48;
+    private boolean canvasActive = false;
+    private String[] levelCards = new String[0];
+    
+    private JPanel mainMenuPanel;
+    private JPanel pauseMenuPanel;
+
+    private JLabel infoLabel;
+    private JLabel livesLabel;
+    private JLabel scoreLabel;
+    private JLabel streakLabel;
+    private JLabel timerLabel;
+    private JButton restartButton;
+    private final AnimationScheduler animations = new AnimationScheduler();
+    private PopupOverlay popupOverlay;
+    private javax.swing.Timer countdownTimer;
+    private static final int COUNTDOWN_POLL_MS = 100;
+
+    private static final int HINT_MILLIS = 1200;
+
+    // What the player has seen this level: card id revealed at each index, or -1.
+    private int[] seenCards = new int[0];
+    private int hintedCard = -1;
+
+
+    
+    private static final String LEADERBOARD_FILE = "leaderboard.txt";
+    private static final String LEADERBOARD_DATA_FILE = "leaderboard.dat";
+    private static final String LEADERBOARD_INDEX_FILE = "leaderboard.idx";
+    private static final String LEADERBOARD_LOG_FILE = "leaderboard.log";
+    private static final int LEADERBOARD_DIALOG_ROWS = 100;
+    private LeaderboardStore leaderboardStore;
+    private LeaderboardLog leaderboardLog;
+    private LiveLeaderboard liveLeaderboard = new LiveLeaderboard(LEADERBOARD_DIALOG_ROWS);
+    private LiveLeaderboard endlessLeaderboard = new LiveLeaderboard(LEADERBOARD_DIALOG_ROWS);
+    // Completed on the EDT once openLeaderboard has finished, whether or not the store opened.
+    private final CompletableFuture<Void> leaderboardReady = new CompletableFuture<>();
+    private LeaderboardRecord lastSavedRecord;
+    
+    private static final String SETTINGS_FILE = "settings.properties";
+    private boolean showLeaderboardAfterGame = false;
+    private boolean memoryTrainingMode = false;
+    private int soundVolume = DEFAULT_SOUND_VOLUME;
+    private final AudioEngine audio = new AudioEngine();
+
+    private static final String ASSET_CACHE_DIR = "cache";
+    private static final String LOGO_URL = "https://upload.wikimedia.org/wikipedia/commons/8/86/Divine_Word_College_of_Calapan_seal.png";
+    private static final String LOGO_RESOURCE = "assets/dwcc_logo.png";
+    private static final int LOGO_SIZE = 160;
+    private static final String INTRO_MUSIC_URL = "https://www2.cs.uic.edu/~i101/SoundFiles/BabyElephantWalk60.wav";
+    private static final String INTRO_MUSIC_RESOURCE = "assets/intro.wav";
+    private final AssetCache assets = new AssetCache(Paths.get(ASSET_CACHE_DIR));
+    private static final String RECORDINGS_DIR = "recordings";
+    private final GameRecorder recorder = new GameRecorder(Paths.get(RECORDINGS_DIR));
+    private static final String SAVED_GAME_FILE = "savedgame.dat";
+    private final SnapshotStore snapshots = new SnapshotStore(Paths.get(SAVED_GAME_FILE));
+    private enum Theme { LIGHT, DARK }
+    private Theme currentTheme = Theme.LIGHT; 
+
+
+
+    public MemoryGame() {
+        super("DWCC Memory Game");
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setSize(900, 700);
+        setLocationRelativeTo(null);
+        setLayout(new BorderLayout(8,8));
+        getContentPane().setBackground(WINDOW_BG);
+        Runtime.getRuntime().addShutdownHook(new Thread(recorder::close));
+        Runtime.getRuntime().addShutdownHook(new Thread(snapshots::shutdown));
+        Runtime.getRuntime().addShutdownHook(new Thread(imageService::shutdown));
+        Runtime.getRuntime().addShutdownHook(new Thread(prefetcher::shutdown));
+        Runtime.getRuntime().addShutdownHook(new Thread(assets::shutdown));
+        Runtime.getRuntime().addShutdownHook(new Thread(audio::shutdown));
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                saveSnapshot();
+            }
+        });
+
+        prefetcher.prefetch(catalog.level(1));
+        createTopPanel();
+        createBoardPanel();
+        createMainMenuPanel();
+        createPauseMenuPanel();
+
+        popupOverlay = new PopupOverlay(animations);
+        setGlassPane(popupOverlay);
+
+        loadSettings(); 
+        openLeaderboard();
+
+        
+        SwingUtilities.invokeLater(() -> {
+            boolean ok = showWelcomeScreenAndGetName();
+            if (!ok) System.exit(0);
+            if (!resumeSavedGame()) {
+                engine.newGame();
+                startLevel();
+            }
+        });
+
+        setVisible(true);
+    }
+
+    private void createMainMenuPanel() {
+        mainMenuPanel = new JPanel();
+        mainMenuPanel.setLayout(new GridLayout(7, 1, 10, 10));
+        mainMenuPanel.setBorder(new EmptyBorder(40, 40, 40, 40));
+        mainMenuPanel.setBackground(Color.WHITE);
+
+        JButton resumeBtn = new JButton("Resume Game");
+        JButton newGameBtn = new JButton("Start New Game");
+        JButton leaderboardBtn = new JButton("Leaderboard");
+        JButton settingsBtn = new JButton("Settings");
+        JButton exitBtn = new JButton("Exit Game");
+        JButton seededGameBtn = new JButton("Play Seed...");
+        modeBtn = new JButton();
+        updateModeButton();
+
+        styleControlButton(resumeBtn);
+        styleControlButton(newGameBtn);
+        styleControlButton(leaderboardBtn);
+        styleControlButton(settingsBtn);
+        styleControlButton(exitBtn);
+        styleControlButton(seededGameBtn);
+        styleControlButton(modeBtn);
+
+        resumeBtn.addActionListener(e -> returnToGameScreen());
+        newGameBtn.addActionListener(e -> restartLevel());
+        leaderboardBtn.addActionListener(e -> showLeaderboardDialog());
+        settingsBtn.addActionListener(e -> showSettingsDialog());
+        exitBtn.addActionListener(e -> System.exit(0));
+        seededGameBtn.addActionListener(e -> startSeededGame());
+        modeBtn.addActionListener(e -> switchGameMode());
+
+        mainMenuPanel.add(resumeBtn);
+        mainMenuPanel.add(newGameBtn);
+        mainMenuPanel.add(modeBtn);
+        mainMenuPanel.add(seededGameBtn);
+        mainMenuPanel.add(leaderboardBtn);
+        mainMenuPanel.add(settingsBtn);
+        mainMenuPanel.add(exitBtn);
+    }
+
+    private JButton modeBtn;
+
+    /** Starts a new game in the other mode: endless levels or the fixed ones. */
+    private void switchGameMode() {
+        engine.setEndless(!engine.isEndless());
+        updateModeButton();
+        engine.newGame();
+        startLevel();
+        returnToGameScreen();
+    }
+
+    private void updateModeButton() {
+        if (modeBtn != null) modeBtn.setText(engine.isEndless() ? "Play Classic Levels" : "Play Endless");
+    }
+
+    /** Card keys of the current board in card-id order; endless levels draw from every card in the catalog. */
+    private String[] levelContent() {
+        if (!engine.isEndless()) return catalog.level(engine.level());
+        return BoardGenerator.pick(catalog.cards(), engine.dealSeed(), engine.pairs());
+    }
+
+    private String[] nextLevelContent() {
+        int next = engine.level() + 1;
+        if (!engine.isEndless()) return catalog.level(next);
+        return BoardGenerator.pick(catalog.cards(), BoardGenerator.dealSeed(engine.gameSeed(), next, 0),
+                engine.rules().endless.pairs(next));
+    }
+
+    private void startSeededGame() {
+        String input = JOptionPane.showInputDialog(this, "Board seed (hex):", BoardGenerator.format(engine.gameSeed()));
+        if (input == null || input.trim().isEmpty()) return;
+        long seed;
+        try {
+            seed = BoardGenerator.parse(input);
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Not a valid seed: " + input.trim());
+            return;
+        }
+        // 0 marks "no seed" on the leaderboard and would be replaced by a random one.
+        if (seed == LeaderboardRecord.NO_SEED) {
+            JOptionPane.showMessageDialog(this, "Seed 0 is reserved; please enter a non-zero seed.");
+            return;
+        }
+        engine.newGame(seed);
+        startLevel();
+        returnToGameScreen();
+    }
+
+    private void createPauseMenuPanel() {
+        pauseMenuPanel = new JPanel();
+        pauseMenuPanel.setLayout(new GridLayout(6, 1, 10, 10));
+        pauseMenuPanel.setBorder(new EmptyBorder(40, 40, 40, 40));
+        pauseMenuPanel.setBackground(Color.WHITE);
+
+        JButton resumeBtn = new JButton("Resume Game");
+        JButton newGameBtn = new JButton("Start New Game");
+        JButton leaderboardBtn = new JButton("Leaderboard");
+        JButton settingsBtn = new JButton("Settings");
+        JButton exitBtn = new JButton("Exit Game");
+        JButton resetLeaderboardBtn = new JButton("Reset Leaderboard");
+
+        styleControlButton(resumeBtn);
+        styleControlButton(newGameBtn);
+        styleControlButton(leaderboardBtn);
+        styleControlButton(settingsBtn);
+        styleControlButton(exitBtn);
+        styleControlButton(resetLeaderboardBtn);
+
+        resumeBtn.addActionListener(e -> returnToGameScreen());
+        newGameBtn.addActionListener(e -> restartLevel());
+        leaderboardBtn.addActionListener(e -> showLeaderboardDialog());
+        settingsBtn.addActionListener(e -> showSettingsDialog());
+        exitBtn.addActionListener(e -> System.exit(0));
+        resetLeaderboardBtn.addActionListener(e -> resetLeaderboard());
+
+        pauseMenuPanel.add(resumeBtn);
+        pauseMenuPanel.add(newGameBtn);
+        pauseMenuPanel.add(leaderboardBtn);
+        pauseMenuPanel.add(settingsBtn);
+        pauseMenuPanel.add(resetLeaderboardBtn);
+        pauseMenuPanel.add(exitBtn);
+    }
+    
+    private static final int CARD_IMAGE_SIZE = 100;
+    private final CardImageService imageService = new CardImageService(catalog::openImage, cacheBudget / 2);
+    private final LevelPrefetcher prefetcher = new LevelPrefetcher(imageService, CARD_IMAGE_SIZE, catalog, cacheBudget / 20);
+    private final CardAtlas atlas = openAtlas();
+    private final MemoryCache<Long, List<LeaderboardRecord>> leaderboardPages =
+            LeaderboardTableModel.newPageCache(cacheBudget / 10);
+
+    
+    private String convertDriveLinkToDirect(String sharingUrl) {
+        if (sharingUrl == null) return null;
+
+        
+        int startIndex = sharingUrl.indexOf("/d/");
+        if (startIndex != -1) {
+            int endIndex = sharingUrl.indexOf("/view", startIndex);
+            if (endIndex != -1) {
+                
+                String fileId = sharingUrl.substring(startIndex + 3, endIndex);
+                
+                return "https://drive.google.com/uc?export=download&id=" + fileId;
+            }
+        }
+        
+        return sharingUrl;
+    }
+
+
+
+
+
+
+    private boolean showWelcomeScreenAndGetName() {
+        final JDialog dialog = new JDialog((Frame) null, "Welcome to DWCC Memory Game", true);
+        dialog.setUndecorated(true);
+        dialog.getContentPane().setBackground(WINDOW_BG);
+
+        JPanel root = new JPanel(new BorderLayout(12,12));
+        root.setBorder(new EmptyBorder(18,18,18,18));
+        root.setBackground(WINDOW_BG);
+
+        JLabel logoLabel = new JLabel("DWCC", SwingConstants.CENTER);
+        logoLabel.setFont(logoLabel.getFont().deriveFont(Font.BOLD, 28f));
+        logoLabel.setPreferredSize(new Dimension(LOGO_SIZE, LOGO_SIZE));
+        assets.image(LOGO_RESOURCE, LOGO_URL, LOGO_SIZE).thenAccept(img -> {
+            if (img == null) return;
+            SwingUtilities.invokeLater(() -> {
+                logoLabel.setText(null);
+                logoLabel.setIcon(new ImageIcon(img));
+            });
+        });
+        root.add(logoLabel, BorderLayout.NORTH);
+
+        JLabel title = new JLabel("<html><center>⭐ DWCC MEMORY QUEST ⭐<br><i>Test your memory. Discover DWCC. Conquer all levels.</i></center></html>", SwingConstants.CENTER);
+        title.setForeground(HEADER_FOOTER);
+        title.setFont(new Font("SansSerif", Font.BOLD, 18));
+        title.setBackground(WINDOW_BG);
+        root.add(title, BorderLayout.CENTER);
+
+        JPanel bottom = new JPanel(new BorderLayout(8,8));
+        bottom.setBackground(WINDOW_BG);
+
+        JTextArea instructions = new JTextArea(
+                "Match pairs representing DWCC schools, orgs, and clubs.\n" +
+                        "There are 5 levels. Lives and timers vary per level.\n" +
+                        "Enter your name to begin your quest!"
+        );
+        instructions.setEditable(false);
+        instructions.setOpaque(false);
+        instructions.setFocusable(false);
+        instructions.setFont(new Font("SansSerif", Font.PLAIN, 13));
+        instructions.setForeground(PRIMARY_TEXT);
+        bottom.add(instructions, BorderLayout.NORTH);
+
+        JPanel inputRow = new JPanel(new FlowLayout(FlowLayout.CENTER, 8, 6));
+        inputRow.setBackground(WINDOW_BG);
+        JLabel nameLbl = new JLabel("Please enter your username:");
+        JTextField nameField = new JTextField(20);
+        inputRow.add(nameLbl);
+        inputRow.add(nameField);
+        bottom.add(inputRow, BorderLayout.CENTER);
+
+        JPanel btnRow = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 6));
+        btnRow.setBackground(WINDOW_BG);
+        JButton startBtn = new JButton("Start Adventure");
+        nameField.addActionListener(e -> startBtn.doClick());
+
+        JButton leaderboardBtn = new JButton("View Leaderboard");
+        JButton exitBtn = new JButton("Exit");
+
+        styleControlButton(startBtn);
+        styleControlButton(leaderboardBtn);
+        styleControlButton(exitBtn);
+
+        leaderboardBtn.addActionListener(e -> showLeaderboardDialog());
+
+        btnRow.add(startBtn);
+        btnRow.add(leaderboardBtn);
+        btnRow.add(exitBtn);
+
+        bottom.add(btnRow, BorderLayout.SOUTH);
+
+
+        root.add(bottom, BorderLayout.SOUTH);
+
+        dialog.getContentPane().add(root);
+        dialog.pack();
+        dialog.setLocationRelativeTo(null);
+
+        assets.fetch(INTRO_MUSIC_RESOURCE, INTRO_MUSIC_URL).thenAccept(data -> {
+            if (data == null) return;
+            SwingUtilities.invokeLater(() -> {
+                if (dialog.isDisplayable()) audio.playMusic(data);
+            });
+        });
+
+        try {
+            dialog.setOpacity(0f);
+        } catch (UnsupportedOperationException uex) { }
+
+        animations.animate(1000, op -> {
+            try {
+                dialog.setOpacity(op);
+            } catch (Exception ex) { }
+        }, null);
+
+        final boolean[] started = {false};
+        startBtn.addActionListener(ev -> {
+            String n = nameField.getText();
+            if (n != null) n = n.trim();
+            if (n == null || n.isEmpty()) {
+                JOptionPane.showMessageDialog(dialog, "Please enter your name to start.", "Name required", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            playerName = n;
+            started[0] = true;
+            audio.stopMusic();
+            dialog.dispose();
+        });
+
+        exitBtn.addActionListener(ev -> {
+            int conf = JOptionPane.showConfirmDialog(dialog, "Exit game?", "Confirm Exit", JOptionPane.YES_NO_OPTION);
+            if (conf == JOptionPane.YES_OPTION) {
+                audio.stopMusic();
+                dialog.dispose();
+            }
+        });
+
+        dialog.setVisible(true);
+
+        return started[0];
+    }
+
+    private void createTopPanel() {
+        JPanel top = new JPanel(new BorderLayout(6,6));
+        top.setBorder(new EmptyBorder(8,8,0,8));
+        top.setBackground(HEADER_FOOTER);
+
+        infoLabel = new JLabel("DWCC Memory Game");
+        infoLabel.setFont(infoLabel.getFont().deriveFont(Font.BOLD, 18f));
+        infoLabel.setForeground(HEADER_TEXT);
+
+        JPanel status = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        status.setOpaque(true);
+        status.setBackground(HEADER_FOOTER);
+
+        livesLabel = new JLabel();
+        livesLabel.setForeground(HEADER_TEXT);
+        scoreLabel = new JLabel();
+        scoreLabel.setForeground(HEADER_TEXT);
+        timerLabel = new JLabel();
+        timerLabel.setForeground(HEADER_TEXT);
+
+        status.add(livesLabel);
+        status.add(scoreLabel);
+        status.add(timerLabel);
+        
+        streakLabel = new JLabel();
+        streakLabel.setForeground(HEADER_TEXT);
+        status.add(streakLabel);
+
+
+        top.add(infoLabel, BorderLayout.WEST);
+        top.add(status, BorderLayout.EAST);
+
+        add(top, BorderLayout.NORTH);
+
+        JPanel bottom = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
+        bottom.setBackground(HEADER_FOOTER);
+
+        restartButton = new JButton("Restart Level");
+        styleControlButton(restartButton);
+        restartButton.addActionListener(e -> {
+            int conf = JOptionPane.showConfirmDialog(this, "Restart current level?", "Restart", JOptionPane.YES_NO_OPTION);
+            if (conf == JOptionPane.YES_OPTION) restartLevel();
+        });
+        bottom.add(restartButton);
+
+        add(bottom, BorderLayout.SOUTH);
+
+        JButton menuButton = new JButton("Main Menu");
+        styleControlButton(menuButton);
+        menuButton.addActionListener(e -> showMainMenu());
+
+        JButton pauseButton = new JButton("Pause");
+        styleControlButton(pauseButton);
+        pauseButton.addActionListener(e -> showPauseMenu());
+
+        bottom.add(menuButton);
+        bottom.add(pauseButton);
+
+        JButton hintButton = new JButton("Hint");
+        styleControlButton(hintButton);
+        hintButton.addActionListener(e -> showHint());
+        bottom.add(hintButton);
+
+    }
+
+    private void showMainMenu() {
+        engine.clock().pause();
+        saveSnapshot();
+        setContentPane(mainMenuPanel);
+        revalidate();
+        repaint();
+    }
+
+    private void showPauseMenu() {
+        if (countdownTimer != null && countdownTimer.isRunning()) {
+            countdownTimer.stop();
+        }
+        engine.clock().pause();
+        animations.finishAll();
+        saveSnapshot();
+        popupOverlay.dismiss();
+        setContentPane(pauseMenuPanel);
+        revalidate();
+        repaint();
+    }
+
+    private void returnToGameScreen() {
+        if (engine.isLevelActive()) engine.clock().resume();
+        if (countdownTimer != null && engine.timeLimitSeconds() > 0) {
+            countdownTimer.start();
+        }
+        
+        Container content = getContentPane();
+        setContentPane(new JPanel(new BorderLayout()));
+        getContentPane().setBackground(WINDOW_BG);
+        getContentPane().add(boardContainer, BorderLayout.CENTER);
+        getContentPane().add(infoLabel.getParent().getParent(), BorderLayout.NORTH); // may be brittle; but we set top in constructor
+        getContentPane().add(infoFeed, BorderLayout.EAST);
+        revalidate();
+        repaint();
+    }
+
+    private void styleControlButton(JButton btn) {
+        btn.setBackground(Color.WHITE);
+        btn.setForeground(HEADER_FOOTER);
+        btn.setFocusPainted(false);
+        btn.setBorder(new LineBorder(HEADER_FOOTER, 2));
+    }
+
+    private void createBoardPanel() {
+        buttonBoard = new ButtonBoard(engine, imageService, catalog, CARD_IMAGE_SIZE);
+        buttonBoard.setBackground(BOARD_BG);
+        buttonBoard.setClickListener(this::onCardClicked);
+        buttonBoard.setAtlas(atlas);
+
+        boardCanvas = new BoardCanvas(engine, imageService, catalog, CARD_IMAGE_SIZE, animations);
+        boardCanvas.setBackground(BOARD_BG);
+        boardCanvas.setClickListener(this::onCardClicked);
+        boardCanvas.setAtlas(atlas);
+
+        boardContainer = new JPanel(new BorderLayout());
+        boardContainer.add(buttonBoard, BorderLayout.CENTER);
+        add(boardContainer, BorderLayout.CENTER);
+
+        infoFeed = new InfoFeedPanel(cacheBudget / 10);
+        infoFeed.setColors(WINDOW_BG, HEADER_FOOTER, BOARD_BG, PRIMARY_TEXT, MATCHED_COLOR.darker());
+        add(infoFeed, BorderLayout.EAST);
+
+        int maxCards = catalog.rules().maxPairs() * 2;
+        buttonBoard.ensurePool(Math.min(maxCards, MAX_BUTTON_CARDS));
+    }
+
+    private void startLevel() {
+    updateInfoLabels();
+    recorder.levelStarted(engine);
+    saveSnapshot();
+
+    levelCards = levelContent();
+    prefetcher.setImageSize(canvasActive ? boardCanvas.faceSize() : buttonBoard.faceSize());
+    prefetcher.recordLevelStart(levelCards);
+    if (logCacheStats) {
+        System.out.println(prefetcher.statsSummary());
+        printCacheStats();
+    }
+
+    infoFeed.clear();
+    for (String key : levelCards) {
+        infoFeed.prepare(key, prefetcher.descriptionHtml(key));
+    }
+
+    setupCardsGrid();
+    startCountdownIfNeeded();
+
+    if (engine.hasNextLevel()) {
+        prefetcher.prefetch(nextLevelContent());
+    }
+}
+
+
+    private void updateInfoLabels() {
+        livesLabel.setText("Lives: " + engine.lives());
+        scoreLabel.setText("Score: " + engine.score());
+        timerLabel.setText(engine.timeLimitSeconds() > 0 ? "Time: " + formatTime(engine.timeRemaining()) : "Time: --");
+        infoLabel.setText("Player: " + (playerName == null ? "?" : playerName) +
+                "  |  Level " + engine.level() + (engine.isEndless() ? " (endless)" : "") + " — Pairs: " + engine.pairs() + "  Attempts: " + engine.attempts() +
+                "  Matches: " + engine.matchesFound() + "  Seed: " + BoardGenerator.format(engine.gameSeed()));
+        streakLabel.setText("Streak: " + engine.consecutiveMatches());
+
+    }
+
+    private void setupCardsGrid() {
+        animations.cancelAll();
+        popupOverlay.dismiss();
+        hintedCard = -1;
+        if (seenCards.length < engine.cardCount()) seenCards = new int[engine.cardCount()];
+        Arrays.fill(seenCards, -1);
+
+        int total = engine.cardCount();
+        canvasActive = useCanvasBoard || total > MAX_BUTTON_CARDS;
+        Component board = canvasActive ? boardCanvas : buttonBoard;
+        if (board.getParent() != boardContainer) {
+            boardContainer.removeAll();
+            boardContainer.add(board, BorderLayout.CENTER);
+            boardContainer.revalidate();
+        }
+        if (canvasActive) {
+            buttonBoard.release();
+            boardCanvas.bind(levelCards);
+        } else if (buttonBoard.bind(levelCards)) {
+            packIfNeeded();
+        }
+    }
+
+    private void packIfNeeded() {
+        setSize(Math.max(800, getWidth()), Math.max(600, getHeight()));
+        revalidate();
+    }
+
+    private String contentAt(int index) {
+        return levelCards[engine.cardId(index)];
+    }
+
+    private void refreshCard(int index) {
+        if (canvasActive) boardCanvas.animateCard(index);
+        else buttonBoard.refreshCard(index);
+    }
+
+    private void onCardClicked(int index) {
+        int result = engine.flip(index);
+        if (result == MemoryEngine.FLIP_IGNORED) return;
+        recorder.flip(engine, index, result);
+        saveSnapshot();
+
+        seenCards[index] = engine.cardId(index);
+        if (hintedCard >= 0) setCardHighlighted(hintedCard, false);
+        refreshCard(index);
+        if (result == MemoryEngine.FLIP_FIRST) return;
+
+        infoLabel.setText("Player: " + (playerName == null ? "?" : playerName) +
+                "  |  Level " + engine.level() + " — Attempts: " + engine.attempts());
+
+        if (result == MemoryEngine.FLIP_MATCH || result == MemoryEngine.FLIP_LEVEL_COMPLETE) {
+            refreshCard(engine.lastPairFirst());
+            refreshCard(index);
+
+            if (engine.consecutiveMatches() > 1) {
+                showTemporaryMessage("🔥 Combo! Streak x" + engine.consecutiveMatches() + "!", 2000 ); 
+            }
+
+            audio.play(engine.consecutiveMatches() > 1 ? AudioEngine.Effect.COMBO : AudioEngine.Effect.MATCH);
+
+            String content = contentAt(index);
+            infoFeed.post(content, prefetcher.descriptionHtml(content));
+
+            updateInfoLabels();
+
+            if (result == MemoryEngine.FLIP_LEVEL_COMPLETE) {
+                onLevelComplete();
+            }
+
+        } else {
+
+            audio.play(AudioEngine.Effect.MISMATCH);
+
+            final int first = engine.lastPairFirst();
+            animations.schedule(800, () -> {
+                engine.hideMismatched();
+                recorder.hide(engine);
+                saveSnapshot();
+                refreshCard(first);
+                refreshCard(index);
+            });
+
+            updateInfoLabels();
+            if (result == MemoryEngine.FLIP_OUT_OF_LIVES) {
+                onGameEndLose();
+            }
+        }
+    }
+
+    // A completed level is saved too, so closing at the level-complete dialog
+    // resumes with the final match counted.
+    private void saveSnapshot() {
+        if (engine.isLevelActive() || engine.isLevelComplete() && engine.hasNextLevel()) {
+            snapshots.save(engine, playerName);
+        }
+    }
+
+    /**
+     * Offers to continue the game saved when the window was last closed.
+     * Returns true if a saved level was restored and is now showing.
+     */
+    private boolean resumeSavedGame() {
+        byte[] saved = snapshots.load();
+        if (saved == null) return false;
+        long start = System.nanoTime();
+        String savedName;
+        try {
+            savedName = SnapshotStore.restore(saved, engine);
+            int pairs = engine.isEndless() ? engine.rules().endless.pairs(engine.level())
+                    : engine.level() <= catalog.rules().levelCount() ? catalog.rules().pairs(engine.level()) : -1;
+            if (engine.pairs() != pairs) {
+                throw new IllegalArgumentException("saved with different content");
+            }
+        } catch (RuntimeException ex) {
+            System.out.println("Saved game could not be restored: " + ex.getMessage());
+            snapshots.delete();
+            return false;
+        }
+        System.out.printf("Saved game restored in %.2f ms%n", (System.nanoTime() - start) / 1e6);
+        boolean levelComplete = engine.isLevelComplete() && engine.hasNextLevel();
+        if (!engine.isLevelActive() && !levelComplete) {
+            snapshots.delete();
+            return false;
+        }
+
+        // The score is posted under the saved name, so say so if someone else is at the kiosk.
+        boolean otherPlayer = !savedName.isEmpty() && !savedName.equals(playerName);
+        int option = JOptionPane.showConfirmDialog(this,
+                "Resume " + (savedName.isEmpty() ? "the saved" : savedName + "'s") + " game?\n"
+                        + "Level " + engine.level() + (levelComplete ? " complete" : "") + ", score " + engine.score()
+                        + ", lives " + engine.lives()
+                        + (otherPlayer ? "\nThe game and its score stay under " + savedName + "'s name." : ""),
+                "Saved Game", JOptionPane.YES_NO_OPTION);
+        if (option != JOptionPane.YES_OPTION) {
+            snapshots.delete();
+            return false;
+        }
+        if (!savedName.isEmpty()) playerName = savedName;
+
+        updateModeButton();
+        if (levelComplete) {
+            engine.nextLevel();
+            startLevel();
+            return true;
+        }
+        if (engine.hasPendingMismatch()) engine.hideMismatched();
+        levelCards = levelContent();
+        updateInfoLabels();
+        infoFeed.clear();
+        setupCardsGrid();
+        engine.clock().resume();
+        startCountdownIfNeeded();
+        return true;
+    }
+
+    private void showHint() {
+        int index = MemorySolver.hint(engine, seenCards);
+        if (index < 0) {
+            showTemporaryMessage("No hint right now", 1200);
+            return;
+        }
+        if (hintedCard >= 0) setCardHighlighted(hintedCard, false);
+        setCardHighlighted(index, true);
+        animations.schedule(HINT_MILLIS, () -> {
+            if (hintedCard == index) setCardHighlighted(index, false);
+        });
+    }
+
+    private void setCardHighlighted(int index, boolean on) {
+        hintedCard = on ? index : -1;
+        if (canvasActive) boardCanvas.setHighlight(on ? index : -1);
+        else buttonBoard.setHighlight(index, on);
+    }
+
+    private void onLevelComplete() {
+    if (countdownTimer != null) countdownTimer.stop();
+
+    if (engine.hasNextLevel()) {
+        
+        int option = JOptionPane.showConfirmDialog(this,
+                "Level " + engine.level() + " complete!\nScore: " + engine.score() + "\nProceed to next level?",
+                "Level Complete",
+                JOptionPane.YES_NO_OPTION);
+
+        if (option == JOptionPane.YES_OPTION) {
+            goToNextLevel();
+        } else {
+            String[] opts = {"Restart Level", "Exit Game"};
+            int choice = JOptionPane.showOptionDialog(this, "What would you like to do?",
+                    "Level Complete", JOptionPane.DEFAULT_OPTION,
+                    JOptionPane.QUESTION_MESSAGE, null, opts, opts[0]);
+
+            if (choice == 0) restartLevel();
+            else {
+                int conf = JOptionPane.showConfirmDialog(this,
+                        "Are you sure you want to exit?", "Exit", JOptionPane.YES_NO_OPTION);
+                if (conf == JOptionPane.YES_OPTION) System.exit(0);
+            }
+        }
+    } else {
+        snapshots.delete();
+        saveScoreToLeaderboard();
+        String[] options = {"View Leaderboard", "Start New Game", "Exit"};
+        int choice = JOptionPane.showOptionDialog(this,
+                "🎉 Congratulations, " + playerName + "! 🎉\nYou finished the final Level " + engine.level() + "!\nFinal Score: " + engine.score(),
+                "You Completed the Game!",
+                JOptionPane.DEFAULT_OPTION,
+                JOptionPane.INFORMATION_MESSAGE,
+                null,
+                options,
+                options[0]);
+
+        switch (choice) {
+            case 0 -> showLeaderboardDialog(); 
+            case 1 -> {
+                playerName = null;
+                boolean ok = showWelcomeScreenAndGetName();
+                if (ok) {
+                    engine.newGame();
+                    startLevel();
+                } else {
+                    System.exit(0);
+                }
+            }
+            default -> System.exit(0); 
+        }
+    }
+}
+
+
+    private void onGameEndLose() {
+        if (countdownTimer != null) countdownTimer.stop();
+        recorder.gameEnded(engine);
+        snapshots.delete();
+
+        String player = (playerName == null || playerName.trim().isEmpty()) ? "Player" : playerName;
+        String msg = String.format("%s, you LOST at Level %d!\nFinal Score: %d", player, engine.level(), engine.score());
+        saveScoreToLeaderboard();
+
+        
+        if (showLeaderboardAfterGame) {
+            showLeaderboardDialog();
+        }
+
+        Object[] options = {"Play Again (Level 1)", "Exit"};
+        int choice = JOptionPane.showOptionDialog(this, msg, "Game Over",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options, options[0]);
+
+        if (choice == 0) {
+            playerName = null;
+            boolean ok = showWelcomeScreenAndGetName();
+            if (ok) {
+                engine.newGame();
+                startLevel();
+            } else {
+                System.exit(0);
+            }
+        } else {
+            System.exit(0);
+        }
+    }
+
+    private void onGameEndWin() {
+        if (countdownTimer != null) countdownTimer.stop();
+        recorder.gameEnded(engine);
+        snapshots.delete();
+
+        String player = (playerName == null || playerName.trim().isEmpty()) ? "Player" : playerName;
+        String msg = String.format("%s, you WIN! You finished Level %d!\nFinal Score: %d", player, engine.level(), engine.score());
+
+        saveScoreToLeaderboard();
+
+        
+        if (showLeaderboardAfterGame) {
+            showLeaderboardDialog();
+        }
+
+
+        Object[] options = {"Play Again (Level 1)", "Exit"};
+        int choice = JOptionPane.showOptionDialog(this, msg, "You Win!",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options, options[0]);
+
+        if (choice == 0) {
+            playerName = null;
+            boolean ok = showWelcomeScreenAndGetName();
+            if (ok) {
+                engine.newGame();
+                startLevel();
+            } else {
+                System.exit(0);
+            }
+        } else {
+            System.exit(0);
+        }
+    }
+
+    private void goToNextLevel() {
+        if (engine.hasNextLevel()) {
+            engine.nextLevel();
+            startLevel();
+        } else {
+            onGameEndWin();
+        }
+    }
+
+    private void restartLevel() {
+        if (countdownTimer != null) countdownTimer.stop();
+        engine.restartLevel();
+        startLevel();
+    }
+
+    private void startCountdownIfNeeded() {
+    if (countdownTimer != null) countdownTimer.stop();
+    if (engine.timeLimitSeconds() > 0) {
+        timerLabel.setText("Time: " + formatTime(engine.timeRemaining()));
+        // The timer only polls the engine's clock; missed or late ticks don't change the time.
+        countdownTimer = new javax.swing.Timer(COUNTDOWN_POLL_MS, e -> {
+            boolean timeUp = engine.checkTimeUp();
+            timerLabel.setText("Time: " + formatTime(engine.timeRemaining()));
+            if (timeUp) {
+                recorder.timeUp(engine);
+                countdownTimer.stop();
+                updateInfoLabels();
+                onGameEndLose();
+            }
+        });
+        countdownTimer.start();
+    } else {
+        timerLabel.setText(memoryTrainingMode ? "Training Mode" : "Time: --");
+    }
+}
+
+
+    private String formatTime(int secs) {
+        int mm = secs / 60;
+        int ss = secs % 60;
+        return String.format("%02d:%02d", mm, ss);
+    }
+
+    private void showTemporaryMessage(String message, int durationMillis) {
+        popupOverlay.show(message, durationMillis);
+    }
+
+
+    /**
+     * Opens the leaderboard on a background thread: the text migration and the
+     * scans that build the live boards are O(n) in the stored scores, so they
+     * stay off the EDT and out of startup. The fields are set on the EDT, and
+     * {@link #whenLeaderboardReady} defers leaderboard actions until then.
+     */
+    private void openLeaderboard() {
+        Thread t = new Thread(() -> {
+            try {
+                LeaderboardStore store = LeaderboardStore.open(Paths.get(LEADERBOARD_DATA_FILE), Paths.get(LEADERBOARD_INDEX_FILE));
+                int migrated = store.migrateTextFile(Paths.get(LEADERBOARD_FILE));
+                if (migrated > 0) {
+                    System.out.println("Migrated " + migrated + " leaderboard entries from " + LEADERBOARD_FILE);
+                }
+                LeaderboardLog log = LeaderboardLog.open(Paths.get(LEADERBOARD_LOG_FILE), store);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        log.close();
+                        store.close();
+                    } catch (IOException ex) {
+                        System.out.println("Error closing leaderboard: " + ex.getMessage());
+                    }
+                }));
+                LiveLeaderboard classic = LiveLeaderboard.load(store, false, LEADERBOARD_DIALOG_ROWS);
+                LiveLeaderboard endless = LiveLeaderboard.load(store, true, LEADERBOARD_DIALOG_ROWS);
+                SwingUtilities.invokeLater(() -> {
+                    leaderboardStore = store;
+                    leaderboardLog = log;
+                    liveLeaderboard = classic;
+                    endlessLeaderboard = endless;
+                    leaderboardReady.complete(null);
+                });
+            } catch (IOException ex) {
+                System.out.println("Error opening leaderboard: " + ex.getMessage());
+                SwingUtilities.invokeLater(() -> leaderboardReady.complete(null));
+            }
+        }, "leaderboard-open");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** Runs {@code action} on the EDT once the leaderboard is open; at once if it already is. */
+    private void whenLeaderboardReady(Runnable action) {
+        leaderboardReady.thenRun(action).exceptionally(ex -> {
+            System.out.println("Leaderboard error: " + ex.getMessage());
+            return null;
+        });
+    }
+
+    private void saveScoreToLeaderboard() {
+    int timeUsed = engine.timeUsedSeconds();
+
+    LeaderboardRecord record = new LeaderboardRecord(
+            playerName,
+            engine.score(),
+            engine.level(),
+            engine.lives(),
+            engine.matchesFound(),
+            timeUsed,
+            (int) LocalDate.now().toEpochDay(),
+            engine.gameSeed(),
+            engine.isEndless());
+    lastSavedRecord = record;
+
+    whenLeaderboardReady(() -> {
+        liveLeaderboard(record.endless).add(record);
+        if (leaderboardLog == null) return;
+        leaderboardLog.append(record)
+            .exceptionally(ex -> {
+                System.out.println("Error saving leaderboard: " + ex.getMessage());
+                return null;
+            });
+    });
+}
+
+
+    private void resetLeaderboard() {
+        int confirm = JOptionPane.showConfirmDialog(
+                this,
+                "Are you sure you want to CLEAR the leaderboard?",
+                "Confirm Reset",
+                JOptionPane.YES_NO_OPTION
+        );
+
+        if (confirm == JOptionPane.YES_OPTION) {
+            whenLeaderboardReady(this::clearLeaderboard);
+        }
+    }
+
+    private void clearLeaderboard() {
+        try {
+            if (leaderboardLog != null) leaderboardLog.clear();
+            liveLeaderboard.clear();
+            endlessLeaderboard.clear();
+            leaderboardPages.clear();
+            lastSavedRecord = null;
+            JOptionPane.showMessageDialog(this, "Leaderboard has been reset.");
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Error resetting leaderboard.");
+        }
+    }
+
+    
+    private LiveLeaderboard liveLeaderboard(boolean endless) {
+        return endless ? endlessLeaderboard : liveLeaderboard;
+    }
+
+    private void showLeaderboardDialog() {
+        whenLeaderboardReady(this::openLeaderboardDialog);
+    }
+
+    private void openLeaderboardDialog() {
+    // Endless scores grow with every level, so each mode is ranked on its own tab.
+    CompletableFuture<Void> flushed = leaderboardLog != null
+            ? leaderboardLog.flushAsync() : CompletableFuture.completedFuture(null);
+    JTabbedPane tabs = new JTabbedPane();
+    tabs.addTab("Classic", leaderboardTable(false, flushed));
+    tabs.addTab("Endless", leaderboardTable(true, flushed));
+    boolean endless = lastSavedRecord != null ? lastSavedRecord.endless : engine.isEndless();
+    tabs.setSelectedIndex(endless ? 1 : 0);
+
+    JPanel content = new JPanel(new BorderLayout(6, 6));
+    content.add(tabs, BorderLayout.CENTER);
+    if (lastSavedRecord != null) {
+        LiveLeaderboard live = liveLeaderboard(lastSavedRecord.endless);
+        JLabel rankLabel = new JLabel(lastSavedRecord.name + " — " + (lastSavedRecord.endless ? "Endless" : "Classic")
+                + " Rank " + live.rankOf(lastSavedRecord.score)
+                + " of " + live.size() + " (Score: " + lastSavedRecord.score + ")");
+        rankLabel.setFont(rankLabel.getFont().deriveFont(Font.BOLD));
+        content.add(rankLabel, BorderLayout.NORTH);
+    }
+
+    String[] options = {"Reset Leaderboard", "Start New Game", "Exit"};
+    int choice = JOptionPane.showOptionDialog(
+            this,
+            content,
+            "Leaderboard",
+            JOptionPane.DEFAULT_OPTION,
+            JOptionPane.PLAIN_MESSAGE,
+            null,
+            options,
+            options[0]
+    );
+
+    switch (choice) {
+        case 0 -> resetLeaderboard(); 
+        case 1 -> {
+            playerName = null;
+            boolean ok = showWelcomeScreenAndGetName();
+            if (ok) {
+                engine.newGame();
+                startLevel();
+            } else {
+                System.exit(0);
+            }
+        }
+        default -> System.exit(0); 
+    }
+}
+
+
+
+
+    /**
+     * Table of one mode's scores. It starts on the in-memory top scores; the
+     * full store is paged in once scores still waiting for the log's sync
+     * have reached it.
+     */
+    private JScrollPane leaderboardTable(boolean endless, CompletableFuture<Void> flushed) {
+        JTable table = new JTable(new LeaderboardTableModel(liveLeaderboard(endless).top(LEADERBOARD_DIALOG_ROWS)));
+        if (leaderboardStore != null) {
+            flushed.whenComplete((v, ex) -> SwingUtilities.invokeLater(() -> {
+                try {
+                    table.setModel(new LeaderboardTableModel(leaderboardStore, endless, leaderboardPages));
+                } catch (IOException e) {
+                    System.out.println("Leaderboard read error: " + e.getMessage());
+                }
+            }));
+        }
+        table.setEnabled(false);
+        table.setRowHeight(25);
+        table.setDefaultRenderer(Object.class, new LeaderboardTableModel.RankRenderer());
+
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.setPreferredSize(new Dimension(800, 300));
+        return scroll;
+    }
+
+    private static class LeaderboardEntry {
+        String name;
+        int score;
+        String timestamp;
+        LeaderboardEntry(String n, int s, String t) { name = n; score = s; timestamp = t; }
+    }
+
+    private static int readCacheBudget(Properties p) {
+        try {
+            return Math.max(8, Integer.parseInt(p.getProperty("cacheBudgetMB", "" + DEFAULT_CACHE_BUDGET_MB).trim()));
+        } catch (NumberFormatException ex) {
+            System.out.println("Invalid cacheBudgetMB, using " + DEFAULT_CACHE_BUDGET_MB);
+            return DEFAULT_CACHE_BUDGET_MB;
+        }
+    }
+
+    private static int readSoundVolume(Properties p) {
+        try {
+            return Math.max(0, Math.min(100, Integer.parseInt(p.getProperty("soundVolume", "" + DEFAULT_SOUND_VOLUME).trim())));
+        } catch (NumberFormatException ex) {
+            System.out.println("Invalid soundVolume, using " + DEFAULT_SOUND_VOLUME);
+            return DEFAULT_SOUND_VOLUME;
+        }
+    }
+
+    /** Logs hit, miss and eviction counts of every cache, to check the budget on long-running kiosks. */
+    private void printCacheStats() {
+        System.out.println(imageService.cache().stats());
+        if (atlas != null) System.out.println(atlas.cache().stats());
+        System.out.println(prefetcher.htmlCache().stats());
+        System.out.println(infoFeed.cache().stats());
+        System.out.println(leaderboardPages.stats());
+    }
+
+    private static Properties readSettings() {
+        Properties p = new Properties();
+        File f = new File(SETTINGS_FILE);
+        if (f.exists()) {
+            try (FileReader fr = new FileReader(f)) {
+                p.load(fr);
+            } catch (IOException ex) {
+                System.out.println("Failed to read settings: " + ex.getMessage());
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Opens the content pack named in the settings, or the built-in cards
+     * when none is set or the pack cannot be read.
+     */
+    private static CardCatalog openCatalog(String packPath) {
+        if (!packPath.isEmpty()) {
+            try {
+                ContentPack pack = ContentPack.open(Paths.get(packPath));
+                System.out.println("Loaded content pack: " + pack.name());
+                return pack;
+            } catch (IOException | RuntimeException ex) {
+                System.out.println("Failed to open content pack " + packPath + ": " + ex.getMessage());
+            }
+        }
+        return new BuiltInCatalog(Paths.get(CARD_IMAGE_DIR));
+    }
+
+    private CardAtlas openAtlas() {
+        try {
+            CardAtlas a = CardAtlas.open(catalog.atlasDir(), cacheBudget / 4);
+            if (a != null) {
+                double scale = GraphicsEnvironment.isHeadless() ? 1.0 : GraphicsEnvironment.getLocalGraphicsEnvironment()
+                        .getDefaultScreenDevice().getDefaultConfiguration().getDefaultTransform().getScaleX();
+                prefetcher.setAtlas(a, a.sizeFor((int) Math.ceil(CARD_IMAGE_SIZE * scale)));
+                System.out.println("Loaded card atlas: " + a.cardCount() + " faces, sizes " + Arrays.toString(a.sizes()));
+            }
+            return a;
+        } catch (IOException ex) {
+            System.out.println("Failed to open card atlas: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private void loadSettings() {
+    Properties p = readSettings();
+    try {
+        showLeaderboardAfterGame = Boolean.parseBoolean(p.getProperty("showLeaderboardAfterGame", "false"));
+        memoryTrainingMode = Boolean.parseBoolean(p.getProperty("memoryTrainingMode", "false"));
+        engine.setTrainingMode(memoryTrainingMode);
+        useCanvasBoard = "canvas".equalsIgnoreCase(p.getProperty("boardRenderer", "buttons").trim());
+        soundVolume = readSoundVolume(p);
+        audio.setVolume(soundVolume / 100f);
+
+        String themeStr = p.getProperty("theme", "LIGHT");
+        currentTheme = Theme.valueOf(themeStr.toUpperCase());
+        applyTheme(); 
+    } catch (Exception ex) {
+        System.out.println("Failed to load settings: " + ex.getMessage());
+    }
+}
+
+private void saveSettings() {
+    Properties p = new Properties();
+    p.setProperty("showLeaderboardAfterGame", Boolean.toString(showLeaderboardAfterGame));
+    p.setProperty("memoryTrainingMode", Boolean.toString(memoryTrainingMode));
+    p.setProperty("theme", currentTheme.name());
+    p.setProperty("soundVolume", Integer.toString(soundVolume));
+    p.setProperty("boardRenderer", useCanvasBoard ? "canvas" : "buttons");
+    p.setProperty("contentPack", contentPackPath);
+    p.setProperty("cacheBudgetMB", Integer.toString(cacheBudgetMB));
+    p.setProperty("logCacheStats", Boolean.toString(logCacheStats));
+    try (FileWriter fw = new FileWriter(SETTINGS_FILE)) {
+        p.store(fw, "MemoryGame settings");
+    } catch (IOException ex) {
+        System.out.println("Failed to save settings: " + ex.getMessage());
+    }
+}
+
+
+
+    private void showSettingsDialog() {
+    JCheckBox autoShow = new JCheckBox(
+        "Show leaderboard automatically after each finished game", 
+        showLeaderboardAfterGame
+    );
+    JCheckBox trainingMode = new JCheckBox(
+        "Memory Training Mode (no time limits, unlimited lives)", 
+        memoryTrainingMode
+    );
+    
+
+
+    JPanel panel = new JPanel();
+    panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+    panel.setBorder(new EmptyBorder(8,8,8,8));
+    panel.add(new JLabel("<html><b>Settings</b></html>"));
+    panel.add(Box.createVerticalStrut(8));
+    panel.add(autoShow);
+    panel.add(Box.createVerticalStrut(6));
+    panel.add(trainingMode);
+    
+    JComboBox<String> themeSelector = new JComboBox<>(new String[] {"Light", "Dark"});
+    themeSelector.setSelectedItem(currentTheme == Theme.DARK ? "Dark" : "Light");
+    panel.add(Box.createVerticalStrut(6));
+    panel.add(new JLabel("Theme:"));
+    panel.add(themeSelector);
+
+    JComboBox<String> rendererSelector = new JComboBox<>(new String[] {"Buttons", "Canvas (faster on large boards)"});
+    rendererSelector.setSelectedIndex(useCanvasBoard ? 1 : 0);
+    panel.add(Box.createVerticalStrut(6));
+    panel.add(new JLabel("Board renderer (applies from the next board):"));
+    panel.add(rendererSelector);
+
+    JSlider volumeSlider = new JSlider(0, 100, soundVolume);
+    volumeSlider.setMajorTickSpacing(25);
+    volumeSlider.setPaintTicks(true);
+    panel.add(Box.createVerticalStrut(6));
+    panel.add(new JLabel("Sound volume:"));
+    panel.add(volumeSlider);
+
+    int res = JOptionPane.showConfirmDialog(this, panel, "Settings", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+    if (res == JOptionPane.OK_OPTION) {
+        showLeaderboardAfterGame = autoShow.isSelected();
+        memoryTrainingMode = trainingMode.isSelected(); 
+        saveSettings();
+        JOptionPane.showMessageDialog(this, "Settings saved.");
+    }
+    
+    if (res == JOptionPane.OK_OPTION) {
+    showLeaderboardAfterGame = autoShow.isSelected();
+    memoryTrainingMode = trainingMode.isSelected();
+    engine.setTrainingMode(memoryTrainingMode);
+    soundVolume = volumeSlider.getValue();
+    useCanvasBoard = rendererSelector.getSelectedIndex() == 1;
+    audio.setVolume(soundVolume / 100f);
+
+    currentTheme = themeSelector.getSelectedItem().toString().equalsIgnoreCase("Dark") 
+                    ? Theme.DARK 
+                    : Theme.LIGHT;
+
+    saveSettings();
+    applyTheme();
+    JOptionPane.showMessageDialog(this, "Settings saved.");
+}
+
+}
+    
+    private void applyTheme() {
+    if (currentTheme == Theme.DARK) {
+        getContentPane().setBackground(Color.DARK_GRAY);
+        buttonBoard.setBackground(new Color(0x333333));
+        HEADER_FOOTER = new Color(0x222222);
+        PRIMARY_TEXT = Color.WHITE;
+        buttonBoard.setTextColor(PRIMARY_TEXT);
+        HEADER_TEXT = Color.WHITE;
+        boardCanvas.setColors(new Color(0x333333), new Color(0x4A4A4A), new Color(0x2E5E3A), new Color(0x666666), PRIMARY_TEXT);
+        infoFeed.setColors(Color.DARK_GRAY, PRIMARY_TEXT, new Color(0x333333), PRIMARY_TEXT, new Color(0x2E5E3A));
+    } else {
+        getContentPane().setBackground(Color.WHITE);
+        buttonBoard.setBackground(new Color(0xE8F3EC));
+        HEADER_FOOTER = new Color(0x1F5C34);
+        PRIMARY_TEXT = Color.BLACK;
+        buttonBoard.setTextColor(PRIMARY_TEXT);
+        HEADER_TEXT = Color.WHITE;
+        boardCanvas.setColors(BOARD_BG, BOARD_BG, MATCHED_COLOR, new Color(0xBDBDBD), PRIMARY_TEXT);
+        infoFeed.setColors(Color.WHITE, HEADER_FOOTER, BOARD_BG, PRIMARY_TEXT, MATCHED_COLOR.darker());
+    }
+
+    
+    SwingUtilities.updateComponentTreeUI(this);
+}
+
+
+
+    public static void main(String[] args) {
+        SwingUtilities.invokeLater(() -> new MemoryGame());
+    }
+}
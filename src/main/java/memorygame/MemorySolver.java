@@ -0,0 +1,310 @@
+package memorygame;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Automated player that works through {@link MemoryEngine}'s rules. It only
+ * learns a card's id by flipping it, so its results are comparable with a
+ * human's. Three player models are available. {@code PERFECT} remembers
+ * everything it has seen. {@code DECAY} forgets each remembered card with a
+ * fixed probability per turn. {@code RANDOM} remembers nothing.
+ * Simulations fan out over a fork/join pool; the same move logic backs the
+ * in-game hint.
+ *
+ * <p>By default games are played in training mode so the attempts needed
+ * to clear a board can be measured. When the solver is given {@link GameRules}
+ * and a pace in seconds per turn, games are played under those rules
+ * instead: lives and time limits can end them early, and scores are recorded.
+ */
+final class MemorySolver {
+
+    enum Strategy { PERFECT, DECAY, RANDOM }
+
+    static final double DEFAULT_FORGET_RATE = 0.1;
+
+    static final int SCORE_BINS = 40;
+
+    private static final int MAX_TURNS = 10_000;
+    private static final int GAMES_PER_TASK = 2_048;
+
+    private final Strategy strategy;
+    private final int forgetThreshold;
+    private final GameRules rules;
+    private final long nanosPerTurn;
+    private final int scoreBinWidth;
+
+    MemorySolver(Strategy strategy) {
+        this(strategy, DEFAULT_FORGET_RATE);
+    }
+
+    MemorySolver(Strategy strategy, double forgetRate) {
+        this(strategy, forgetRate, null, 0, 1);
+    }
+
+    /**
+     * Solver that plays under {@code rules}, spending {@code secondsPerTurn}
+     * of game time on every pair of flips. Level scores are histogrammed in
+     * {@link #SCORE_BINS} bins of {@code scoreBinWidth} points.
+     */
+    MemorySolver(Strategy strategy, double forgetRate, GameRules rules, double secondsPerTurn, int scoreBinWidth) {
+        this.strategy = strategy;
+        this.forgetThreshold = (int) (Math.max(0, Math.min(1, forgetRate)) * (1 << 24));
+        this.rules = rules;
+        this.nanosPerTurn = (long) (secondsPerTurn * 1e9);
+        this.scoreBinWidth = Math.max(1, scoreBinWidth);
+    }
+
+    /** Aggregate result of a batch of simulated games at one level. */
+    static final class Stats {
+        final int scoreBinWidth;
+        final long[] scoreBins = new long[SCORE_BINS];
+        long games;
+        long wins;
+        long attempts;
+        long attemptsSquared;
+        int maxAttempts;
+        long scoreTotal;
+
+        Stats(int scoreBinWidth) {
+            this.scoreBinWidth = scoreBinWidth;
+        }
+
+        void add(int gameAttempts, boolean won, int score) {
+            games++;
+            if (won) wins++;
+            attempts += gameAttempts;
+            attemptsSquared += (long) gameAttempts * gameAttempts;
+            if (gameAttempts > maxAttempts) maxAttempts = gameAttempts;
+            scoreTotal += score;
+            scoreBins[Math.min(SCORE_BINS - 1, Math.max(0, score / scoreBinWidth))]++;
+        }
+
+        void merge(Stats o) {
+            games += o.games;
+            wins += o.wins;
+            attempts += o.attempts;
+            attemptsSquared += o.attemptsSquared;
+            maxAttempts = Math.max(maxAttempts, o.maxAttempts);
+            scoreTotal += o.scoreTotal;
+            for (int i = 0; i < SCORE_BINS; i++) scoreBins[i] += o.scoreBins[i];
+        }
+
+        double meanScore() {
+            return games == 0 ? 0 : (double) scoreTotal / games;
+        }
+
+        double meanAttempts() {
+            return games == 0 ? 0 : (double) attempts / games;
+        }
+
+        double stdDevAttempts() {
+            if (games == 0) return 0;
+            double mean = meanAttempts();
+            return Math.sqrt(Math.max(0, (double) attemptsSquared / games - mean * mean));
+        }
+
+        /**
+         * Share of games won. In training mode a game counts as won when it
+         * finished with fewer mismatches than the level has lives.
+         */
+        double winRate() {
+            return games == 0 ? 0 : (double) wins / games;
+        }
+    }
+
+    /**
+     * Plays {@code games} boards of {@code level} on the common fork/join pool.
+     * Game {@code i} uses a seed derived from {@code baseSeed} and {@code i}, so
+     * results do not depend on how the work is split.
+     */
+    Stats simulate(int level, long baseSeed, int games) {
+        return ForkJoinPool.commonPool().invoke(new SimulationTask(level, baseSeed, 0, games));
+    }
+
+    private final class SimulationTask extends RecursiveTask<Stats> {
+        private final int level;
+        private final long baseSeed;
+        private final int from;
+        private final int to;
+
+        SimulationTask(int level, long baseSeed, int from, int to) {
+            this.level = level;
+            this.baseSeed = baseSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                Player player = new Player(baseSeed ^ from);
+                MemoryEngine engine = player.engine;
+                Stats stats = new Stats(scoreBinWidth);
+                int lives = engine.rules().lives(level);
+                for (int i = from; i < to; i++) {
+                    int attempts = player.play(level, SplitMix64.mix(baseSeed + i));
+                    boolean won = rules == null
+                            ? attempts - engine.pairs() < lives
+                            : engine.matchesFound() == engine.pairs();
+                    stats.add(attempts, won, engine.score());
+                }
+                return stats;
+            }
+            int mid = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(level, baseSeed, from, mid);
+            left.fork();
+            Stats right = new SimulationTask(level, baseSeed, mid, to).compute();
+            right.merge(left.join());
+            return right;
+        }
+    }
+
+    /** One simulated player with its own engine and memory, reused across games. */
+    private final class Player {
+        final MemoryEngine engine;
+        final SplitMix64 rng;
+        long now;
+        int[] seen = new int[0];
+        int[] scratch = new int[0];
+
+        Player(long seed) {
+            rng = new SplitMix64(seed);
+            engine = new MemoryEngine(rules == null ? GameRules.DEFAULT : rules, new GameClock(() -> now));
+            engine.setTrainingMode(rules == null);
+        }
+
+        /** Plays one board to completion and returns the number of attempts. */
+        int play(int level, long seed) {
+            engine.newGame(seed, level);
+            int n = engine.cardCount();
+            if (seen.length < n) {
+                seen = new int[n];
+                scratch = new int[n];
+            }
+            Arrays.fill(seen, 0, n, -1);
+            for (int turn = 0; turn < MAX_TURNS && engine.isLevelActive(); turn++) {
+                playTurn();
+                now += nanosPerTurn;
+                engine.checkTimeUp();
+            }
+            return engine.attempts();
+        }
+
+        private void playTurn() {
+            if (strategy == Strategy.DECAY) forget();
+            boolean remembers = strategy != Strategy.RANDOM;
+
+            int first = remembers ? knownPairCard(engine, seen) : -1;
+            if (first < 0) first = pick(-1, remembers);
+            engine.flip(first);
+            seen[first] = engine.cardId(first);
+
+            int second = remembers ? partnerOf(engine, seen, first) : -1;
+            if (second < 0) second = pick(first, remembers);
+            int result = engine.flip(second);
+            seen[second] = engine.cardId(second);
+            if (result == MemoryEngine.FLIP_MISMATCH || result == MemoryEngine.FLIP_OUT_OF_LIVES) {
+                engine.hideMismatched();
+            }
+            if (!remembers) {
+                seen[first] = -1;
+                seen[second] = -1;
+            }
+        }
+
+        /** Random unmatched card other than {@code exclude}, preferring unseen ones. */
+        private int pick(int exclude, boolean preferUnseen) {
+            int n = engine.cardCount();
+            int count = 0;
+            if (preferUnseen) {
+                for (int i = 0; i < n; i++) {
+                    if (i != exclude && seen[i] < 0 && !engine.isMatched(i)) scratch[count++] = i;
+                }
+            }
+            if (count == 0) {
+                for (int i = 0; i < n; i++) {
+                    if (i != exclude && !engine.isMatched(i)) scratch[count++] = i;
+                }
+            }
+            return scratch[rng.nextInt(count)];
+        }
+
+        private void forget() {
+            int n = engine.cardCount();
+            for (int i = 0; i < n; i++) {
+                if (seen[i] >= 0 && !engine.isMatched(i) && (rng.nextLong() >>> 40) < forgetThreshold) {
+                    seen[i] = -1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Suggests the next card to flip given what the player has seen so far
+     * ({@code seen[i]} is the card id revealed at {@code i}, or -1). Returns
+     * -1 when no move is possible right now.
+     */
+    static int hint(MemoryEngine engine, int[] seen) {
+        if (engine.hasPendingMismatch() || !engine.isLevelActive()) return -1;
+        int n = engine.cardCount();
+        for (int i = 0; i < n; i++) {
+            if (engine.isFaceUp(i) && !engine.isMatched(i)) {
+                int partner = partnerOf(engine, seen, i);
+                return partner >= 0 ? partner : firstUnseen(engine, seen, i);
+            }
+        }
+        int known = knownPairCard(engine, seen);
+        return known >= 0 ? known : firstUnseen(engine, seen, -1);
+    }
+
+    /** An unmatched card whose partner has also been seen, or -1. */
+    static int knownPairCard(MemoryEngine engine, int[] seen) {
+        int n = engine.cardCount();
+        for (int i = 0; i < n; i++) {
+            if (seen[i] >= 0 && !engine.isMatched(i) && partnerOf(engine, seen, i) >= 0) return i;
+        }
+        return -1;
+    }
+
+    /** A seen, unmatched card with the same id as {@code index}, or -1. */
+    static int partnerOf(MemoryEngine engine, int[] seen, int index) {
+        int id = seen[index];
+        if (id < 0) return -1;
+        int n = engine.cardCount();
+        for (int i = 0; i < n; i++) {
+            if (i != index && seen[i] == id && !engine.isMatched(i)) return i;
+        }
+        return -1;
+    }
+
+    private static int firstUnseen(MemoryEngine engine, int[] seen, int exclude) {
+        int n = engine.cardCount();
+        int fallback = -1;
+        for (int i = 0; i < n; i++) {
+            if (i == exclude || engine.isMatched(i)) continue;
+            if (seen[i] < 0) return i;
+            if (fallback < 0) fallback = i;
+        }
+        return fallback;
+    }
+
+    /** Prints expected attempts and win rates per level for each strategy. */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.printf("%-8s %5s %5s %10s %8s %6s %8s %9s%n",
+                "strategy", "level", "pairs", "mean", "stddev", "max", "win%", "games/s");
+        for (Strategy s : Strategy.values()) {
+            MemorySolver solver = new MemorySolver(s);
+            for (int level = 1; level <= MemoryEngine.levelCount(); level++) {
+                long start = System.nanoTime();
+                Stats st = solver.simulate(level, 42L * level, games);
+                double secs = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%-8s %5d %5d %10.2f %8.2f %6d %7.1f%% %9.0f%n",
+                        s, level, MemoryEngine.PAIRS_BY_LEVEL[level - 1], st.meanAttempts(),
+                        st.stdDevAttempts(), st.maxAttempts, st.winRate() * 100, games / secs);
+            }
+        }
+    }
+}
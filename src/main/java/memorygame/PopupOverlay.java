@@ -0,0 +1,92 @@
+package memorygame;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Transparent glass pane that shows short messages such as combo popups in
+ * the middle of the window. It is installed once and animated by the
+ * {@link AnimationScheduler}; it has no mouse listeners, so clicks pass
+ * through to the board.
+ */
+final class PopupOverlay extends JComponent {
+
+    private static final Color BACKGROUND = new Color(255, 255, 225);
+
+    private final AnimationScheduler scheduler;
+    private final AnimationScheduler.Tween fadeIn = p -> setAlpha(p);
+    private final AnimationScheduler.Tween fadeOut = p -> setAlpha(1f - p);
+    private final Runnable hide = () -> setVisible(false);
+    private final Runnable startFadeOut;
+    private final Runnable startHold;
+
+    private String message = "";
+    private float alpha;
+    private int holdMillis;
+    private int generation;
+
+    PopupOverlay(AnimationScheduler scheduler) {
+        this.scheduler = scheduler;
+        setOpaque(false);
+        setFont(getFont() != null ? getFont().deriveFont(Font.BOLD, 16f) : new Font("SansSerif", Font.BOLD, 16));
+        startFadeOut = () -> {
+            int g = generation;
+            scheduler.animate(250, fadeOut, () -> {
+                if (g == generation) hide.run();
+            });
+        };
+        startHold = () -> {
+            int g = generation;
+            scheduler.schedule(holdMillis, () -> {
+                if (g == generation) startFadeOut.run();
+            });
+        };
+    }
+
+    /** Shows {@code text} for about {@code durationMillis}, replacing any current popup. */
+    void show(String text, int durationMillis) {
+        generation++;
+        message = text;
+        holdMillis = Math.max(0, durationMillis - 400);
+        setVisible(true);
+        int g = generation;
+        scheduler.animate(150, fadeIn, () -> {
+            if (g == generation) startHold.run();
+        });
+    }
+
+    /** Hides the popup immediately. */
+    void dismiss() {
+        generation++;
+        alpha = 0f;
+        setVisible(false);
+    }
+
+    private void setAlpha(float a) {
+        alpha = a;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g0) {
+        if (alpha <= 0f || message.isEmpty()) return;
+        Graphics2D g = (Graphics2D) g0.create();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, Math.min(1f, alpha)));
+        g.setFont(getFont());
+        FontMetrics fm = g.getFontMetrics();
+        float scale = 0.9f + 0.1f * Math.min(1f, alpha);
+        int w = (int) ((fm.stringWidth(message) + 32) * scale);
+        int h = (int) ((fm.getHeight() + 20) * scale);
+        int x = (getWidth() - w) / 2;
+        int y = (getHeight() - h) / 2;
+        g.setColor(BACKGROUND);
+        g.fillRoundRect(x, y, w, h, 12, 12);
+        g.setColor(Color.BLACK);
+        g.drawRoundRect(x, y, w - 1, h - 1, 12, 12);
+        g.drawString(message, (getWidth() - fm.stringWidth(message)) / 2,
+                (getHeight() - fm.getHeight()) / 2 + fm.getAscent());
+        g.dispose();
+    }
+}
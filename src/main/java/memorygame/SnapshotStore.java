@@ -0,0 +1,149 @@
+package memorygame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps a snapshot of the game in progress on disk so it can be resumed
+ * after the window is closed. Snapshots are a few hundred bytes: a header,
+ * the player name, {@link MemoryEngine#writeState} and a CRC32. They are
+ * encoded on the calling thread. Writes are coalesced on a background
+ * thread, so at most one is made per {@link #DEBOUNCE_MS}. Each write goes
+ * to a temp file that is then atomically renamed over the previous snapshot.
+ */
+final class SnapshotStore {
+
+    static final int MAGIC = 0x4457534E; // "DWSN"
+    static final int VERSION = 1;
+    static final int DEBOUNCE_MS = 500;
+
+    private final Path file;
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "snapshot-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Object ioLock = new Object();
+
+    // Guarded by this.
+    private byte[] latest;
+    private boolean writeScheduled;
+
+    SnapshotStore(Path file) {
+        this.file = file;
+    }
+
+    /** Captures the engine now and writes it within {@link #DEBOUNCE_MS}. */
+    void save(MemoryEngine engine, String playerName) {
+        byte[] data = encode(engine, playerName);
+        synchronized (this) {
+            latest = data;
+            if (writeScheduled) return;
+            writeScheduled = true;
+        }
+        writer.schedule(this::writeLatest, DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /** Writes any snapshot still waiting for the debounce; safe to call from a shutdown hook. */
+    void flush() {
+        writeLatest();
+    }
+
+    /** Forgets the saved game, e.g. once it has been won or lost. */
+    void delete() {
+        synchronized (this) {
+            latest = null;
+        }
+        writer.execute(() -> {
+            synchronized (ioLock) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException ex) {
+                    System.out.println("Error deleting saved game: " + ex.getMessage());
+                }
+            }
+        });
+    }
+
+    /** Reads the saved snapshot, or returns null if there is none or it is damaged. */
+    byte[] load() {
+        try {
+            byte[] data = Files.readAllBytes(file);
+            if (data.length < 9) return null;
+            ByteBuffer buf = ByteBuffer.wrap(data);
+            if (buf.getInt() != MAGIC || buf.get() != VERSION) return null;
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, data.length - 4);
+            return (int) crc.getValue() == buf.getInt(data.length - 4) ? data : null;
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            System.out.println("Error reading saved game: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /** Applies a snapshot from {@link #load} to {@code engine}; returns the saved player name. */
+    static String restore(byte[] data, MemoryEngine engine) {
+        ByteBuffer buf = ByteBuffer.wrap(data, 5, data.length - 9);
+        byte[] name = new byte[buf.getShort() & 0xFFFF];
+        buf.get(name);
+        engine.readState(buf);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    void shutdown() {
+        writer.shutdown();
+        flush();
+    }
+
+    private static byte[] encode(MemoryEngine engine, String playerName) {
+        byte[] name = (playerName == null ? "" : playerName).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buf = ByteBuffer.allocate(4 + 1 + 2 + name.length + engine.stateSize() + 4);
+        buf.putInt(MAGIC);
+        buf.put((byte) VERSION);
+        buf.putShort((short) name.length);
+        buf.put(name);
+        engine.writeState(buf);
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 0, buf.position());
+        buf.putInt((int) crc.getValue());
+        return buf.array();
+    }
+
+    private void writeLatest() {
+        byte[] data;
+        synchronized (this) {
+            data = latest;
+            latest = null;
+            writeScheduled = false;
+        }
+        if (data == null) return;
+        synchronized (ioLock) {
+            try {
+                Path dir = file.toAbsolutePath().getParent();
+                Files.createDirectories(dir);
+                Path tmp = Files.createTempFile(dir, "snapshot", ".tmp");
+                try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                    ByteBuffer buf = ByteBuffer.wrap(data);
+                    while (buf.hasRemaining()) ch.write(buf);
+                    ch.force(false);
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException ex) {
+                System.out.println("Error saving game: " + ex.getMessage());
+            }
+        }
+    }
+}